@@ -0,0 +1,93 @@
+package io.openapitools.api.pp;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of selecting the paths of a specification by a filter of path globs, matching every path against the compiled
+ * matcher compared to trying a regular expression per glob.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+
+    private static final int GLOBS = 50;
+
+    @Param({"1000", "50000"})
+    private int operations;
+
+    private String[] paths;
+    private OperationMatcher matcher;
+    private Pattern[] patterns;
+
+    @Setup(Level.Trial)
+    public void compile() throws IOException {
+        List<String> keys = new ArrayList<>();
+        Specification.generate(operations).get("paths").fieldNames().forEachRemaining(keys::add);
+        paths = keys.toArray(new String[0]);
+
+        List<String> globs = new ArrayList<>();
+        for (int i = 0; i < GLOBS; i++) {
+            globs.add("/copy" + i + "/store/**");
+        }
+        globs.add("/copy*/user/login");
+        globs.add("**/admin/**");
+        Filter filter = new Filter();
+        filter.setExcludes(globs);
+        matcher = OperationMatcher.compile(filter);
+        patterns = globs.stream().map(FilterBenchmark::regex).toArray(Pattern[]::new);
+    }
+
+    @Benchmark
+    public int compiledMatcher() {
+        int selected = 0;
+        for (String path : paths) {
+            if (matcher.matches(path)) {
+                selected++;
+            }
+        }
+        return selected;
+    }
+
+    @Benchmark
+    public int regexPerGlob() {
+        int selected = 0;
+        for (String path : paths) {
+            boolean excluded = false;
+            for (Pattern pattern : patterns) {
+                if (pattern.matcher(path).matches()) {
+                    excluded = true;
+                    break;
+                }
+            }
+            if (!excluded) {
+                selected++;
+            }
+        }
+        return selected;
+    }
+
+    private static Pattern regex(String glob) {
+        return Pattern.compile(glob.replace("**", "\u0000").replace("*", "[^/]*").replace("\u0000", ".*"));
+    }
+}
@@ -0,0 +1,36 @@
+package io.openapitools.api.pp;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading a specification from file into the Swagger model with {@code SwaggerParser.read} as the baseline, and with the
+ * loader used by the plugin, which memory maps the file, binds the tree read from it and resolves the references.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ParseBenchmark {
+
+    @Benchmark
+    public Swagger swaggerParserRead(Specification specification) {
+        return new SwaggerParser().read(specification.file.getPath());
+    }
+
+    @Benchmark
+    public Swagger specificationLoaderLoad(Specification specification) throws IOException {
+        return specification.parse();
+    }
+}
@@ -0,0 +1,71 @@
+package io.openapitools.api.pp;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading a post processed specification written in each of the output formats into a tree, as the tools loading the
+ * specification on startup do. The size of the written specification is printed when it is set up.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+
+    @Param({"JSON", "YAML", "CBOR", "SMILE"})
+    private OutputFormat format;
+
+    private byte[] written;
+    private ObjectMapper reader;
+
+    @Setup(Level.Trial)
+    public void write(Specification specification) throws IOException {
+        Swagger api = specification.parse();
+        Responses.Plan plan = Responses.compile(Specification.STANDARD);
+        api.getPaths().forEach((key, path) -> PathProcessor.process(key, path, plan));
+        written = format.writer().writeValueAsBytes(OutputFormat.toTree(api));
+        reader = reader(format);
+        System.out.println(format + " specification of " + specification.operations + " operations is "
+            + written.length + " bytes");
+    }
+
+    @Benchmark
+    public JsonNode readTree() throws IOException {
+        return reader.readTree(written);
+    }
+
+    private static ObjectMapper reader(OutputFormat format) {
+        switch (format) {
+            case YAML:
+                return new ObjectMapper(new YAMLFactory());
+            case CBOR:
+                return new ObjectMapper(new CBORFactory());
+            case SMILE:
+                return new ObjectMapper(new SmileFactory());
+            default:
+                return new ObjectMapper();
+        }
+    }
+}
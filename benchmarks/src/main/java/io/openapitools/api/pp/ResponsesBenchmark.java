@@ -0,0 +1,102 @@
+package io.openapitools.api.pp;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost per operation of adding the configured responses, looking up the codes for every operation as the baseline in
+ * {@link BaselineResponses} did compared to using a plan compiled once. Every invocation works on fresh path items, thus
+ * the responses are actually added.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponsesBenchmark {
+
+    private static final int PATHS = 1000;
+    private static final int OPERATIONS = PATHS * 5;
+
+    private static final String[] MINIMUM = {"200", "202", "204", "301", "400", "404", "415", "500"};
+    private static final String[] STANDARD = {"200", "201", "202", "203", "204", "301", "304", "307", "400", "401",
+        "403", "404", "406", "409", "410", "412", "415", "422", "429", "500", "501", "503", "505"};
+
+    @Param({"minimum", "standard"})
+    private String codeSet;
+
+    private Set<String> codes;
+    private Responses.Plan plan;
+    private Path[] paths;
+
+    @Setup(Level.Trial)
+    public void compile() {
+        codes = new HashSet<>(Arrays.asList("minimum".equals(codeSet) ? MINIMUM : STANDARD));
+        plan = Responses.compile(codes);
+    }
+
+    @Setup(Level.Invocation)
+    public void paths() {
+        paths = new Path[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            paths[i] = new Path()
+                .get(operation())
+                .put(operation())
+                .post(operation())
+                .delete(operation())
+                .patch(operation());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Path[] lookupPerOperation() {
+        for (Path path : paths) {
+            for (Operation operation : path.getOperations()) {
+                BaselineResponses.addResponseCodes(operation, codes);
+                BaselineResponses.addVerbSpecificHeaders(path, codes);
+            }
+        }
+        return paths;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public Path[] compiledPlan() {
+        for (Path path : paths) {
+            boolean first = true;
+            for (Operation operation : path.getOperations()) {
+                plan.applyCommon(operation);
+                if (first) {
+                    plan.applyVerbSpecific(path);
+                    first = false;
+                }
+            }
+        }
+        return paths;
+    }
+
+    private static Operation operation() {
+        return new Operation().response(200, new Response().description("successful operation"));
+    }
+}
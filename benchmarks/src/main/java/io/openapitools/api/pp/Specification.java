@@ -0,0 +1,63 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.openapitools.pp.SyntheticSpecification;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Synthetic specification with the given number of operations, generated from the pet store sample the same way as the
+ * specifications of the scaling tests.
+ */
+@State(Scope.Benchmark)
+public class Specification {
+
+    static final Set<String> STANDARD = new HashSet<>(Arrays.asList("200", "201", "202", "203", "204", "301", "304",
+        "307", "400", "401", "403", "404", "406", "409", "410", "412", "415", "422", "429", "500", "501", "503", "505"));
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"10", "1000", "10000", "50000"})
+    int operations;
+
+    File file;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        file = File.createTempFile("specification-" + operations + "-", ".json");
+        MAPPER.writeValue(file, generate(operations));
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() {
+        if (!file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Reads the specification the way the plugin does, memory mapping the file and resolving the references.
+     */
+    Swagger parse() throws IOException {
+        return SpecificationLoader.load(file);
+    }
+
+    static ObjectNode generate(int operations) throws IOException {
+        try (InputStream in = Specification.class.getResourceAsStream("/petstore.json")) {
+            return SyntheticSpecification.generate((ObjectNode) MAPPER.readTree(in), operations);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.openapitools.api.pp;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Adding the headers and responses to a freshly parsed specification, as a whole and for each of the steps. Parsing
+ * the specification is not part of the measured time, however the allocation reported by the gc profiler includes it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class TransformBenchmark {
+
+    private final Responses.Plan plan = Responses.compile(Specification.STANDARD);
+    private Swagger api;
+
+    @Setup(Level.Invocation)
+    public void parse(Specification specification) throws IOException {
+        api = specification.parse();
+    }
+
+    /**
+     * The sequential processing of the paths as done by the plugin.
+     */
+    @Benchmark
+    public Swagger applySpecificHeadersAndResponses() {
+        api.getPaths().forEach((key, path) -> PathProcessor.process(key, path, plan));
+        return api;
+    }
+
+    @Benchmark
+    public Swagger addStandardParameters() {
+        for (Path path : api.getPaths().values()) {
+            for (Operation operation : path.getOperations()) {
+                Headers.addStandardParameters(operation);
+            }
+        }
+        return api;
+    }
+
+    @Benchmark
+    public Swagger addResponseCodes() {
+        for (Path path : api.getPaths().values()) {
+            for (Operation operation : path.getOperations()) {
+                Responses.addResponseCodes(operation, Specification.STANDARD);
+            }
+        }
+        return api;
+    }
+}
@@ -0,0 +1,85 @@
+package io.openapitools.api.pp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Converting a post processed specification into a tree and writing it in each of the output formats. The output is
+ * discarded, thus only the serialization is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class WriteBenchmark {
+
+    private Swagger api;
+    private JsonNode tree;
+
+    @Setup(Level.Trial)
+    public void process(Specification specification) throws IOException {
+        api = specification.parse();
+        Responses.Plan plan = Responses.compile(Specification.STANDARD);
+        api.getPaths().forEach((key, path) -> PathProcessor.process(key, path, plan));
+        tree = OutputFormat.toTree(api);
+    }
+
+    @Benchmark
+    public JsonNode toTree() {
+        return OutputFormat.toTree(api);
+    }
+
+    @Benchmark
+    public void write(Format format, Blackhole blackhole) throws IOException {
+        format.format.writer().writeValue(new Discard(blackhole), tree);
+    }
+
+    /**
+     * The output format written.
+     */
+    @State(Scope.Benchmark)
+    public static class Format {
+        @Param({"JSON", "YAML", "CBOR", "SMILE"})
+        private OutputFormat format;
+    }
+
+    /**
+     * Consumes the written output without keeping it.
+     */
+    private static final class Discard extends OutputStream {
+        private final Blackhole blackhole;
+
+        private Discard(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            blackhole.consume(length);
+        }
+    }
+}
@@ -2,20 +2,26 @@ package io.openapitools.api.pp;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
-import io.swagger.models.Operation;
 import io.swagger.models.Path;
 import io.swagger.models.Swagger;
-import io.swagger.parser.SwaggerParser;
 
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.FileSet;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -57,6 +63,20 @@ public class APIPostProcessorMojo extends AbstractMojo {
     @Parameter(defaultValue = "open-api")
     private String inputFilename = "open-api";
 
+    /**
+     * Dependency of the project containing the input specification, given as groupId:artifactId or
+     * groupId:artifactId:classifier. The specification is read from the inputEntry of the resolved artifact without
+     * extracting it, in which case inputDirectory and inputFilename are not used.
+     */
+    @Parameter
+    private String inputArtifact;
+
+    /**
+     * Path of the input specification within the inputArtifact, e.g. "api/open-api.json".
+     */
+    @Parameter
+    private String inputEntry;
+
     /**
      * Directory to contain generated specification. Default is "${project.build.directory}"
      */
@@ -70,7 +90,7 @@ public class APIPostProcessorMojo extends AbstractMojo {
     private String outputFilename = "open-api-post-processed-specification";
 
     /**
-     * Choosing the output format. Supports JSON or YAML.
+     * Choosing the output format. Supports JSON, YAML and the binary CBOR and SMILE formats.
      */
     @Parameter
     private Set<OutputFormat> outputFormats = Collections.singleton(OutputFormat.JSON);
@@ -81,78 +101,568 @@ public class APIPostProcessorMojo extends AbstractMojo {
     @Parameter(defaultValue = "false")
     private boolean attachArtifact;
 
+    /**
+     * Post process the specification as a stream, where only a single path is held in memory at a time and every
+     * other section is copied through to the output as it is. Intended for very large specifications. Default is false.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean streaming;
+
+    /**
+     * Process the paths of the specification in parallel. The output is identical to the sequential processing.
+     * Default is false.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean parallel;
+
+    /**
+     * Number of threads used when processing in parallel. Default is the number of available processors.
+     */
+    @Parameter
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Skip the post processing when the input specification, the configuration and the plugin version are unchanged since
+     * the previous build and the outputs are still present. The state is kept in a manifest in the output directory.
+     * Default is true.
+     */
+    @Parameter(defaultValue = "true")
+    private boolean incremental = true;
+
+    /**
+     * Keep the post processed path items of a streamed specification in a ".paths" file next to the output when building
+     * incrementally, thus only the path items which have changed since the previous build are processed again. The path
+     * items are read from and written to the files as the input is streamed, only their index is held in memory.
+     * Default is false.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean reusePaths;
+
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
+
+    /**
+     * Specifications to post process in a single execution, given by a directory and include and exclude patterns. When
+     * set, inputDirectory and inputFilename are not used and every output is named after its input specification.
+     * The includes default to all json, yaml and yml files.
+     */
+    @Parameter
+    private FileSet specifications;
+
+    /**
+     * Suffix appended to the name of each input specification in order to name its outputs, when post processing a set of
+     * specifications. Default is "-post-processed".
+     */
+    @Parameter(defaultValue = "-post-processed")
+    private String outputSuffix = "-post-processed";
+
+    /**
+     * Write the output in a canonical order, where paths, the operations of a path, response codes, response headers
+     * and the global definitions, parameters and responses are sorted. In streaming mode the paths keep the input order.
+     * Default is false.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean canonical;
+
+    /**
+     * Also write a GZIP compressed copy of every output, named after the output with the extension ".gz". The copy is
+     * produced while the output is written. Default is false.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean compress;
+
+    /**
+     * Level used for the compressed outputs from 1 (fastest) to 9 (best compression). Default is 6.
+     */
+    @Parameter(defaultValue = "6")
+    private int compressionLevel = 6;
+
+    /**
+     * Write the counters and phase timings of the execution to a JSON metrics file named after the output filename with
+     * the extension ".metrics.json" in the output directory. They are always logged. Default is false.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean writeMetrics;
+
+    /**
+     * Write the changes made by the post processor as an RFC 6902 JSON Patch named after the output with the extension
+     * ".patch.json", which applied to the input specification gives the post processed specification. ALONGSIDE writes
+     * the patch next to the outputs and INSTEAD writes the patch only. Default is NONE.
+     */
+    @Parameter(defaultValue = "NONE")
+    private PatchOutput patch = PatchOutput.NONE;
+
+    /**
+     * Define the standard headers and responses once in the global "parameters" and "responses" sections of the
+     * specification and refer to them from the operations, instead of repeating them in every operation. Existing
+     * responses and headers which are complemented stay in the operations. Default is false.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean sharedComponents;
+
+    /**
+     * Keep the parsed specifications in a cache shared by the executions in the same Maven process, thus a specification
+     * post processed by several executions, e.g. in a reactor build or by the Maven daemon, is parsed once as long as it
+     * is unchanged. The cache holds on to the parsed models between executions. Default is false.
+     */
+    @Parameter(defaultValue = "false")
+    private boolean cacheSpecifications;
+
+    /**
+     * Restricts the post processing to the selected paths and operations, while the others are written as they are.
+     * Paths are included or excluded by globs, e.g. "/internal/**", or by regular expressions in the form "%regex[...]",
+     * and operations by their tags and operation ids. By default every operation is post processed.
+     */
+    @Parameter
+    private Filter filter;
+
+    /**
+     * Named profiles, each selecting the responses by its own packages or codes, which are post processed from a single
+     * parse of the input specification instead of the packages and codes of the plugin. The profiles are processed
+     * concurrently, and the outputs of each are named after outputFilename followed by "-" and the name of the profile.
+     */
+    @Parameter
+    private List<Profile> profiles;
+
     @Parameter(defaultValue = "${project}", readonly = true)
     private MavenProject project;
 
     @Component
     private MavenProjectHelper projectHelper;
     
+    private static final String CLASSIFIER = "OpenAPI-Specification";
+
     String[] minimum = {"200", "202", "204", "301", "400", "404", "415", "500"};
     String[] standard = {"200", "201", "202", "203", "204", "301", "304", "307", 
         "400", "401", "403", "404", "406", "409", "410", "412", "415", "422", "429", 
          "500", "501", "503", "505"};
 
+    private Metrics metrics = new Metrics();
+    private OperationMatcher matcher = OperationMatcher.ALL;
+    private Outputs outputs;
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
+        if (compress && (compressionLevel < 1 || compressionLevel > 9)) {
+            throw new MojoFailureException("The compressionLevel must be from 1 to 9, it was " + compressionLevel);
+        }
+        start();
+        Set<String> apiCodes = resolveCodes();
+        String configuration = configuration(apiCodes);
+
+        if (null != specifications) {
+            rejectProfiles("when post processing a set of specifications");
+            rejectInputArtifact("when post processing a set of specifications");
+            new Batch(this, specificationSet(), outputs, streamer(), threads, incremental).execute(apiCodes, configuration);
+            return;
+        }
+
+        if (null != inputArtifact) {
+            File artifact = resolveArtifact();
+            try (FileSystem archive = FileSystems.newFileSystem(artifact.toPath(), (ClassLoader) null)) {
+                process(archive.getPath(inputEntry), artifact, apiCodes, configuration);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to open " + inputArtifact + " at " + artifact, e);
+            }
+            return;
+        }
+
+        File input;
+        try {
+            input = SpecificationLoader.resolve(inputDirectory, inputFilename);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to look for " + inputFilename + " in " + inputDirectory, e);
+        }
+        process(input.toPath(), input, apiCodes, configuration);
+    }
+
+    /**
+     * Post processes the input specification, which is either the file itself or an entry of the file when the input is
+     * read from an artifact. The file is what the build state records.
+     */
+    private void process(java.nio.file.Path input, File file, Set<String> apiCodes, String configuration)
+            throws MojoExecutionException, MojoFailureException {
+        if (null != profiles && !profiles.isEmpty()) {
+            new Profiles(this, profiles, outputs, streamer(), outputFilename, CLASSIFIER, threads, incremental)
+                .execute(input, file);
+            return;
+        }
+        if (incremental && isUpToDate(file, outputFilename, configuration)) {
+            getLog().info("Post processed specification " + outputFilename + " is up to date with " + file);
+            attach(outputFilename, CLASSIFIER);
+            return;
+        }
+
+        JsonPatch changes = outputs.recorder();
+        if (streaming) {
+            streamer().stream(input, outputFilename, apiCodes, configuration, changes);
+        } else {
+            Swagger api = parse(input);
+            ApplySpecificHeadersAndResponses(api, apiCodes, changes);
+            if (outputs.writesSpecification()) {
+                outputs.write(api, outputFilename, true);
+            }
+        }
+        outputs.writePatch(changes, outputFilename);
+        metrics.specificationProcessed();
+        attach(outputFilename, CLASSIFIER);
+        recordState(file, outputFilename, configuration);
+        report();
+    }
+
+    /**
+     * The file of the dependency given as inputArtifact, which must be resolved by the time the mojo executes.
+     */
+    private File resolveArtifact() throws MojoFailureException {
+        if (null == inputEntry) {
+            throw new MojoFailureException("The inputEntry must be given when reading the input from " + inputArtifact);
+        }
+        String[] coordinates = inputArtifact.split(":");
+        if (coordinates.length < 2 || coordinates.length > 3) {
+            throw new MojoFailureException("The inputArtifact must be groupId:artifactId or groupId:artifactId:classifier,"
+                + " it was " + inputArtifact);
+        }
+        String classifier = coordinates.length == 3 ? coordinates[2] : "";
+        Set<Artifact> artifacts = null == project ? Collections.emptySet() : project.getArtifacts();
+        for (Artifact artifact : artifacts) {
+            if (coordinates[0].equals(artifact.getGroupId()) && coordinates[1].equals(artifact.getArtifactId())
+                    && classifier.equals(null == artifact.getClassifier() ? "" : artifact.getClassifier())) {
+                if (null == artifact.getFile() || !artifact.getFile().isFile()) {
+                    throw new MojoFailureException("The inputArtifact " + inputArtifact + " is not resolved to a file");
+                }
+                return artifact.getFile();
+            }
+        }
+        throw new MojoFailureException("The inputArtifact " + inputArtifact + " is not a dependency of the project");
+    }
+
+    /**
+     * Post processes the specification named inputFilename in each of the directories and merges them in the order
+     * given into a single specification which is written once.
+     */
+    void aggregate(Map<String, File> directories) throws MojoExecutionException, MojoFailureException {
+        rejectProfiles("when aggregating the modules");
+        rejectInputArtifact("when aggregating the modules");
+        start();
+        new Aggregation(this, outputs, inputFilename, outputFilename, CLASSIFIER, threads)
+            .execute(directories, resolveCodes());
+    }
+
+    /**
+     * Checks the input specifications against the codes and the standard headers, returning the violations of every
+     * specification having any. A specification read from an artifact is reported by its entry and the artifact.
+     */
+    Map<String, Violations> verify() throws MojoExecutionException, MojoFailureException {
+        rejectProfiles("when verifying");
+        start();
+        Set<String> apiCodes = resolveCodes();
+        Map<String, java.nio.file.Path> inputs = new LinkedHashMap<>();
+        if (null != specifications) {
+            rejectInputArtifact("when verifying a set of specifications");
+            SpecificationSet set = specificationSet();
+            for (String file : set.scan()) {
+                inputs.put(file, new File(set.root(), file).toPath());
+            }
+        } else if (null != inputArtifact) {
+            File artifact = resolveArtifact();
+            try (FileSystem archive = FileSystems.newFileSystem(artifact.toPath(), (ClassLoader) null)) {
+                inputs.put(inputEntry + " in " + inputArtifact, archive.getPath(inputEntry));
+                return new Verification(this).execute(inputs, apiCodes);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to open " + inputArtifact + " at " + artifact, e);
+            }
+        } else {
+            try {
+                File input = SpecificationLoader.resolve(inputDirectory, inputFilename);
+                inputs.put(input.getPath(), input.toPath());
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to look for " + inputFilename + " in " + inputDirectory, e);
+            }
+        }
+        return new Verification(this).execute(inputs, apiCodes);
+    }
 
-        SwaggerParser swaggerParser = new SwaggerParser();
-        String fileAndPathName = inputDirectory + "/" + inputFilename;
-        if (Files.exists(Paths.get(fileAndPathName + ".json"))) {
-            fileAndPathName = fileAndPathName + ".json";
-        } else if (Files.exists(Paths.get(fileAndPathName + ".yaml"))) {
-            fileAndPathName = fileAndPathName + ".yaml";
-        } else if (Files.exists(Paths.get(fileAndPathName + ".yml"))) {
-            fileAndPathName = fileAndPathName + ".yml";
+    /**
+     * Fails when profiles are configured for a goal or mode which only uses the packages and codes of the plugin, as the
+     * profiles would otherwise be ignored without notice.
+     */
+    private void rejectProfiles(String usage) throws MojoFailureException {
+        if (null != profiles && !profiles.isEmpty()) {
+            throw new MojoFailureException("The profiles " + profiles + " cannot be used " + usage
+                + ", use an execution with its own packages or codes for each profile instead");
         }
-        Swagger api = swaggerParser.read(fileAndPathName);
+    }
 
+    /**
+     * Fails when an input artifact is configured for a goal or mode which reads its inputs from the file system, as the
+     * artifact would otherwise be ignored without notice.
+     */
+    private void rejectInputArtifact(String usage) throws MojoFailureException {
+        if (null != inputArtifact) {
+            throw new MojoFailureException("The inputArtifact " + inputArtifact + " cannot be used " + usage
+                + ", use an execution reading the specification from the artifact instead");
+        }
+    }
+
+    /**
+     * Starts an execution with new metrics, the operation filter and the outputs as configured.
+     */
+    private void start() {
+        metrics = new Metrics();
+        matcher = OperationMatcher.compile(filter);
+        outputs = new Outputs(outputDirectory, outputFormats, canonical, compress, compressionLevel, patch, metrics,
+            getLog());
+    }
+
+    /**
+     * The streaming of the inputs if they are streamed, otherwise null.
+     */
+    private Streaming streamer() {
+        return streaming ? new Streaming(this, outputs, matcher, reusePaths && incremental, pluginVersion) : null;
+    }
+
+    Metrics metrics() {
+        return metrics;
+    }
+
+    Swagger parse(java.nio.file.Path input) throws MojoFailureException {
+        if (input.getFileSystem() == FileSystems.getDefault()) {
+            return parse(input.toFile());
+        }
+        if (!Files.isRegularFile(input)) {
+            throw new MojoFailureException("It was not possible to find input API specification " + inputEntry + " in "
+                    + inputArtifact);
+        }
+        long start = System.nanoTime();
+        Swagger api;
+        try {
+            api = SpecificationLoader.load(input);
+        } catch (IOException e) {
+            throw new MojoFailureException("Unable to read input API specification " + inputEntry + " in "
+                    + inputArtifact, e);
+        }
+        metrics.elapsed(Metrics.Phase.PARSE, start);
         if (api == null) {
+            throw new MojoFailureException("The entry " + inputEntry + " in " + inputArtifact
+                    + " is not an API specification");
+        }
+        return api;
+    }
+
+    Swagger parse(File input) throws MojoFailureException {
+        if (!input.isFile()) {
             throw new MojoFailureException("It was not possible to find input API specification at "
-                    + fileAndPathName + " with  extensions json, yml or yaml");
+                    + input + " with  extensions json, yml or yaml");
         }
-        
-        if (null == packages && null == codes) {
-            ApplySpecificHeadersAndResponses(api, new HashSet(Arrays.asList(standard)));
-        } else {
-            if (packages.contains("standard")) {
-                ApplySpecificHeadersAndResponses(api, new HashSet(Arrays.asList(standard)));
-            } else if (packages.contains("minimal")) {
-                ApplySpecificHeadersAndResponses(api, new HashSet(Arrays.asList(minimum)));
-            } else if (codes.size() > 0) {
-                ApplySpecificHeadersAndResponses(api, codes);
+        long start = System.nanoTime();
+        Swagger api;
+        try {
+            api = cacheSpecifications ? SpecificationCache.load(input) : SpecificationLoader.load(input);
+        } catch (IOException e) {
+            throw new MojoFailureException("Unable to read input API specification " + input, e);
+        }
+        metrics.elapsed(Metrics.Phase.PARSE, start);
+        if (api == null) {
+            throw new MojoFailureException("It was not possible to find input API specification at "
+                    + input + " with  extensions json, yml or yaml");
+        }
+        return api;
+    }
+
+    /**
+     * A collector of the shared components referenced if they are to be shared, otherwise null.
+     */
+    SharedComponents sharedComponents() {
+        return sharedComponents ? new SharedComponents() : null;
+    }
+
+    /**
+     * The metrics followed by those of the other listeners which are present.
+     */
+    ProcessingListener listener(ProcessingListener... others) {
+        List<ProcessingListener> listeners = new ArrayList<>();
+        listeners.add(metrics);
+        for (ProcessingListener other : others) {
+            if (null != other) {
+                listeners.add(other);
             }
         }
+        return listeners.size() == 1 ? metrics : ProcessingListener.of(listeners.toArray(new ProcessingListener[0]));
+    }
 
-        if (outputDirectory.mkdirs()) {
-            getLog().debug("Created output directory " + outputDirectory);
+    /**
+     * Logs the metrics of the execution and writes them to the metrics file when requested.
+     */
+    void report() {
+        getLog().info("Post processed " + metrics.summary());
+        getLog().debug(metrics.written());
+        if (cacheSpecifications && !streaming) {
+            getLog().debug("Parsed specification cache " + SpecificationCache.statistics());
         }
-       
-        outputFormats.forEach(format
-                -> {
+        if (writeMetrics) {
+            File metricsFile = new File(outputDirectory, outputFilename + ".metrics.json");
             try {
-                File outputFile = new File(outputDirectory, outputFilename + "." + format.name().toLowerCase());
-                format.write(api, outputFile);
-                if (attachArtifact) {
-                    projectHelper.attachArtifact(project, format.name().toLowerCase(), "OpenAPI-Specification", outputFile);
-                }
+                metrics.write(metricsFile);
             } catch (IOException e) {
-                throw new RuntimeException("Unable to write " + outputFilename + " document", e);
+                getLog().warn("Unable to write metrics " + metricsFile, e);
             }
         }
-        );
     }
 
-    private void ApplySpecificHeadersAndResponses(Swagger api, Set<String> codes) {
-        Map<String, Path> paths = api.getPaths();
-        paths.forEach((k, p) -> {
-            List<Operation> operations = p.getOperations();
-            operations.forEach(operation -> {
-                Responses.addResponseCodes(operation, codes);
-                Headers.addStandardParameters(operation);
-                Responses.addVerbSpecificHeaders(p, codes);
+    boolean isUpToDate(File input, String outputName, String configuration) {
+        if (!input.isFile() || !outputs.files(outputName).stream().allMatch(File::isFile)) {
+            return false;
+        }
+        try {
+            return BuildState.read(buildStateFile(outputName)).isUpToDate(input, configuration, pluginVersion);
+        } catch (IOException e) {
+            getLog().debug("Unable to read build state " + buildStateFile(outputName), e);
+            return false;
+        }
+    }
+
+    void recordState(File input, String outputName, String configuration) {
+        if (incremental) {
+            try {
+                BuildState.write(buildStateFile(outputName), input, null == inputArtifact, configuration,
+                    pluginVersion);
+            } catch (IOException e) {
+                getLog().warn("Unable to write build state " + buildStateFile(outputName)
+                    + ", next build will not be incremental", e);
+            }
+        }
+    }
+
+    /**
+     * The configuration which influences the content of the outputs in a stable textual form.
+     */
+    String configuration(Set<String> apiCodes) {
+        return "codes=" + new TreeSet<>(apiCodes)
+                + ";formats=" + new TreeSet<>(outputFormats)
+                + ";streaming=" + streaming
+                + ";canonical=" + canonical
+                + ";compression=" + (compress ? String.valueOf(compressionLevel) : "none")
+                + ";patch=" + patch
+                + ";shared=" + sharedComponents
+                + ";filter=" + (null == filter ? "none" : filter.toString())
+                + (null == inputArtifact ? "" : ";entry=" + inputEntry);
+    }
+
+    private File buildStateFile(String outputName) {
+        return outputs.file(outputName, "build-state");
+    }
+
+    private Set<String> resolveCodes() {
+        return resolveCodes(packages, codes);
+    }
+
+    Set<String> resolveCodes(Set<String> packages, Set<String> codes) {
+        if (null == packages && null == codes) {
+            return new HashSet<>(Arrays.asList(standard));
+        }
+        if (null != packages && packages.contains("standard")) {
+            return new HashSet<>(Arrays.asList(standard));
+        } else if (null != packages && packages.contains("minimal")) {
+            return new HashSet<>(Arrays.asList(minimum));
+        } else if (null != codes && codes.size() > 0) {
+            return codes;
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * The directory containing the specifications to post process. A specification read from an artifact is not watched,
+     * as the artifact only changes when it is resolved again by a new build.
+     */
+    File watchedDirectory() throws MojoFailureException {
+        rejectInputArtifact("when watching for changes");
+        return null == specifications ? inputDirectory : specificationsDirectory();
+    }
+
+    /**
+     * Whether a file in the watched directory may be an input specification, which when post processing a set of
+     * specifications is a file matched by the includes and excludes of the file set, never one written by the plugin.
+     */
+    boolean isInput(java.nio.file.Path file) {
+        if (null != specifications) {
+            return specificationSet().contains(file);
+        }
+        String name = file.getFileName().toString();
+        return name.equals(inputFilename) || (name.startsWith(inputFilename + ".")
+            && Arrays.asList("json", "yaml", "yml").contains(name.substring(inputFilename.length() + 1)));
+    }
+
+    private SpecificationSet specificationSet() {
+        return new SpecificationSet(specifications, specificationsDirectory(), outputDirectory, outputSuffix,
+            outputFilename);
+    }
+
+    private File specificationsDirectory() {
+        File directory = null == specifications.getDirectory() ? inputDirectory : new File(specifications.getDirectory());
+        if (!directory.isAbsolute() && null != project && null != project.getBasedir()) {
+            directory = new File(project.getBasedir(), directory.getPath());
+        }
+        return directory;
+    }
+
+    void attach(String outputName, String classifier) {
+        if (!attachArtifact) {
+            return;
+        }
+        if (outputs.writesSpecification()) {
+            outputFormats.forEach(format -> {
+                File outputFile = outputs.file(outputName, format);
+                projectHelper.attachArtifact(project, format.type(), classifier, outputFile);
+                if (compress) {
+                    projectHelper.attachArtifact(project, Outputs.compressedType(format), classifier,
+                        Outputs.compressedFile(outputFile));
+                }
             });
-        });
+        }
+        if (outputs.writesPatch()) {
+            projectHelper.attachArtifact(project, Outputs.PATCH_TYPE, classifier, outputs.patchFile(outputName));
+        }
+    }
+
+    void ApplySpecificHeadersAndResponses(Swagger api, Set<String> codes, JsonPatch changes)
+            throws MojoExecutionException {
+        Map<String, Path> paths = api.getPaths();
+        if (null == paths) {
+            return;
+        }
+        SharedComponents components = sharedComponents();
+        Responses.Plan plan = Responses.compile(codes, listener(changes, components), sharedComponents);
+        long start = System.nanoTime();
+        processPaths(paths, plan, parallel);
+        register(api, components, plan);
+        metrics.elapsed(Metrics.Phase.TRANSFORM, start);
+    }
+
+    void processPaths(Map<String, Path> paths, Responses.Plan plan, boolean parallel)
+            throws MojoExecutionException {
+        if (!parallel || threads < 2) {
+            paths.forEach((k, p) -> PathProcessor.process(k, p, plan, matcher));
+            return;
+        }
+        List<Map.Entry<String, Path>> items = new ArrayList<>(paths.entrySet());
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> items.parallelStream()
+                .forEach(item -> PathProcessor.process(item.getKey(), item.getValue(), plan, matcher))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while processing " + inputFilename, e);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Unable to process " + inputFilename, e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void register(Swagger api, SharedComponents components, Responses.Plan plan) {
+        if (null != components) {
+            components.register(api, plan.listener());
+        }
     }
 
 }
@@ -0,0 +1,138 @@
+package io.openapitools.api.pp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import io.swagger.models.Swagger;
+import io.swagger.models.Tag;
+
+/**
+ * Merges the specifications of several modules into a single specification. The paths, definitions and global sections
+ * of every module are added to an index of the module each entry came from, thus an entry which is defined differently
+ * by two modules is found as a conflict, while an entry defined the same way, e.g. a shared component, is kept once. The
+ * info, host, base path and other top level properties are those of the first module added.
+ * <p>
+ * The merged specification has containers of its own for every section, thus the specifications added, which may be
+ * copies of those held by the {@link SpecificationCache}, are never changed by merging them.
+ */
+final class Aggregate {
+
+    private static final String PATHS = "paths";
+    private static final String DEFINITIONS = "definitions";
+    private static final String SECURITY_DEFINITIONS = "securityDefinitions";
+
+    private final Map<String, Map<String, Origin>> index = new HashMap<>();
+    private final List<String> conflicts = new ArrayList<>();
+    private Swagger merged;
+
+    /**
+     * Adds the entries of the specification of the module, which is left unchanged.
+     */
+    void add(String module, Swagger api) {
+        if (null == merged) {
+            merged = topLevel(api);
+        }
+        merge(module, PATHS, api.getPaths(), Swagger::getPaths, Swagger::setPaths);
+        merge(module, DEFINITIONS, api.getDefinitions(), Swagger::getDefinitions, Swagger::setDefinitions);
+        merge(module, SharedComponents.PARAMETERS, api.getParameters(), Swagger::getParameters, Swagger::setParameters);
+        merge(module, SharedComponents.RESPONSES, api.getResponses(), Swagger::getResponses, Swagger::setResponses);
+        merge(module, SECURITY_DEFINITIONS, api.getSecurityDefinitions(), Swagger::getSecurityDefinitions,
+            Swagger::setSecurityDefinitions);
+        mergeTags(api.getTags());
+    }
+
+    /**
+     * The merged specification, which is null if no specification was added.
+     */
+    Swagger specification() {
+        return merged;
+    }
+
+    /**
+     * The entries defined differently by two modules, in the order they were found.
+     */
+    List<String> conflicts() {
+        return conflicts;
+    }
+
+    /**
+     * A specification with the top level properties of the first module and no entries, copying the containers of the
+     * properties which are lists or maps.
+     */
+    private static Swagger topLevel(Swagger api) {
+        Swagger merged = new Swagger();
+        merged.setSwagger(api.getSwagger());
+        merged.setInfo(api.getInfo());
+        merged.setHost(api.getHost());
+        merged.setBasePath(api.getBasePath());
+        merged.setSchemes(null == api.getSchemes() ? null : new ArrayList<>(api.getSchemes()));
+        merged.setConsumes(null == api.getConsumes() ? null : new ArrayList<>(api.getConsumes()));
+        merged.setProduces(null == api.getProduces() ? null : new ArrayList<>(api.getProduces()));
+        merged.setSecurity(null == api.getSecurity() ? null : new ArrayList<>(api.getSecurity()));
+        merged.setExternalDocs(api.getExternalDocs());
+        if (null != api.getVendorExtensions()) {
+            merged.setVendorExtensions(new LinkedHashMap<>(api.getVendorExtensions()));
+        }
+        return merged;
+    }
+
+    private <T> void merge(String module, String section, Map<String, T> entries,
+                           Function<Swagger, Map<String, T>> getter, BiConsumer<Swagger, Map<String, T>> setter) {
+        if (null == entries) {
+            return;
+        }
+        Map<String, T> target = getter.apply(merged);
+        if (null == target) {
+            target = new LinkedHashMap<>();
+            setter.accept(merged, target);
+        }
+        Map<String, Origin> origins = index.computeIfAbsent(section, name -> new HashMap<>());
+        for (Map.Entry<String, T> entry : entries.entrySet()) {
+            Origin origin = origins.get(entry.getKey());
+            if (null == origin) {
+                origins.put(entry.getKey(), new Origin(module, entry.getValue()));
+                target.put(entry.getKey(), entry.getValue());
+            } else if (!origin.isSame(entry.getValue())) {
+                conflicts.add(section + " " + entry.getKey() + " is defined differently by " + origin.module + " and "
+                    + module);
+            }
+        }
+    }
+
+    private void mergeTags(List<Tag> tags) {
+        if (null == tags) {
+            return;
+        }
+        if (null == merged.getTags()) {
+            merged.setTags(new ArrayList<>());
+        }
+        for (Tag tag : tags) {
+            if (merged.getTags().stream().noneMatch(existing -> existing.getName().equals(tag.getName()))) {
+                merged.getTags().add(tag);
+            }
+        }
+    }
+
+    /**
+     * The module an entry came from together with the entry, which is compared as written to the output.
+     */
+    private static final class Origin {
+
+        private final String module;
+        private final Object value;
+
+        private Origin(String module, Object value) {
+            this.module = module;
+            this.value = value;
+        }
+
+        boolean isSame(Object other) {
+            return value == other || value.equals(other) || OutputFormat.toTree(value).equals(OutputFormat.toTree(other));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Maven mojo which post processes the specification of every module in the reactor and merges them into a single
+ * specification, e.g. for a gateway in front of the services of the modules. It runs once for the reactor, using the
+ * configuration of the project it runs in for every module. It is bound to the verify phase, as late as the merged
+ * specification may still be attached and installed, and the specifications of the modules must have been generated
+ * before, thus it is configured in a module built after the others, e.g. one depending on them.
+ */
+@Mojo(name = "aggregate", aggregator = true, defaultPhase = LifecyclePhase.VERIFY, requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
+public class AggregateMojo extends APIPostProcessorMojo {
+
+    /**
+     * Directory of each module which contains its specification named inputFilename, relative to the module. Default is
+     * the build directory of the module.
+     */
+    @Parameter
+    private String moduleDirectory;
+
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true)
+    private List<MavenProject> reactorProjects;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        Map<String, File> directories = new LinkedHashMap<>();
+        for (MavenProject module : reactorProjects) {
+            directories.put(module.getGroupId() + ":" + module.getArtifactId(), null == moduleDirectory
+                ? new File(module.getBuild().getDirectory())
+                : new File(module.getBasedir(), moduleDirectory));
+        }
+        aggregate(directories);
+    }
+}
@@ -0,0 +1,100 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.swagger.models.Swagger;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * Post processes the specification of each module, loading and processing the specifications in parallel, and merges
+ * them in the order of the modules into a single specification which is written once. Modules without the specification
+ * are skipped, and entries defined differently by two modules fail the build.
+ */
+final class Aggregation {
+
+    private final APIPostProcessorMojo mojo;
+    private final Outputs outputs;
+    private final String inputFilename;
+    private final String outputFilename;
+    private final String classifier;
+    private final int threads;
+
+    Aggregation(APIPostProcessorMojo mojo, Outputs outputs, String inputFilename, String outputFilename,
+                String classifier, int threads) {
+        this.mojo = mojo;
+        this.outputs = outputs;
+        this.inputFilename = inputFilename;
+        this.outputFilename = outputFilename;
+        this.classifier = classifier;
+        this.threads = threads;
+    }
+
+    /**
+     * Aggregates the specifications named inputFilename in the directories of the modules.
+     */
+    void execute(Map<String, File> directories, Set<String> apiCodes)
+            throws MojoExecutionException, MojoFailureException {
+        Map<String, CompletableFuture<Swagger>> loading = new LinkedHashMap<>();
+        ExecutorService loaders = Executors.newFixedThreadPool(Math.max(1, threads));
+        Aggregate aggregate = new Aggregate();
+        try {
+            for (Map.Entry<String, File> module : directories.entrySet()) {
+                File input;
+                try {
+                    input = SpecificationLoader.resolve(module.getValue(), inputFilename);
+                } catch (IOException e) {
+                    throw new MojoExecutionException("Unable to look for " + inputFilename + " in " + module.getValue(), e);
+                }
+                if (!input.isFile()) {
+                    mojo.getLog().debug("No specification " + inputFilename + " in " + module.getKey());
+                    continue;
+                }
+                loading.put(module.getKey(), CompletableFuture.supplyAsync(Stage.unchecked(() -> {
+                    Swagger api = mojo.parse(input);
+                    mojo.ApplySpecificHeadersAndResponses(api, apiCodes, null);
+                    mojo.metrics().specificationProcessed();
+                    return api;
+                }), loaders));
+            }
+            for (Map.Entry<String, CompletableFuture<Swagger>> module : loading.entrySet()) {
+                try {
+                    aggregate.add(module.getKey(), module.getValue().join());
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof MojoFailureException) {
+                        throw (MojoFailureException) cause;
+                    }
+                    if (cause instanceof MojoExecutionException) {
+                        throw (MojoExecutionException) cause;
+                    }
+                    throw new MojoExecutionException("Unable to post process the specification of " + module.getKey(),
+                        cause);
+                }
+            }
+        } finally {
+            loaders.shutdownNow();
+        }
+        if (null == aggregate.specification()) {
+            mojo.getLog().warn("No specifications " + inputFilename + " found in the modules");
+            return;
+        }
+        if (!aggregate.conflicts().isEmpty()) {
+            aggregate.conflicts().forEach(mojo.getLog()::error);
+            throw new MojoFailureException(aggregate.conflicts().size()
+                + " paths and definitions are defined differently by the modules");
+        }
+        mojo.getLog().info("Aggregated " + loading.size() + " specifications into " + outputFilename);
+        outputs.write(aggregate.specification(), outputFilename, true);
+        mojo.attach(outputFilename, classifier);
+        mojo.report();
+    }
+}
@@ -0,0 +1,119 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * Post processes every specification of a file set. Parsing and transforming run on a bounded pool of workers while
+ * writing runs on a separate pool, thus specifications are read and processed while others are being written. Failures
+ * are collected and reported together once all specifications have been attempted.
+ */
+final class Batch {
+
+    private final APIPostProcessorMojo mojo;
+    private final SpecificationSet specifications;
+    private final Outputs outputs;
+    private final Streaming streaming;
+    private final int threads;
+    private final boolean incremental;
+
+    /**
+     * A batch streaming the specifications unless streaming is null.
+     */
+    Batch(APIPostProcessorMojo mojo, SpecificationSet specifications, Outputs outputs, Streaming streaming, int threads,
+          boolean incremental) {
+        this.mojo = mojo;
+        this.specifications = specifications;
+        this.outputs = outputs;
+        this.streaming = streaming;
+        this.threads = threads;
+        this.incremental = incremental;
+    }
+
+    void execute(Set<String> apiCodes, String configuration) throws MojoExecutionException, MojoFailureException {
+        File root = specifications.root();
+        specifications.checkOutputs();
+        String[] files = specifications.scan();
+        if (files.length == 0) {
+            mojo.getLog().warn("No specifications found in " + root);
+            return;
+        }
+
+        Jobs jobs = new Jobs();
+        Map<String, String> processed = new ConcurrentSkipListMap<>();
+        int workers = Math.max(1, threads);
+        ExecutorService processors = Executors.newFixedThreadPool(workers);
+        ExecutorService writers = Executors.newFixedThreadPool(workers);
+        Semaphore inFlight = new Semaphore(2 * workers);
+        try {
+            for (String file : files) {
+                File input = new File(root, file);
+                String outputName = specifications.outputName(file);
+                if (incremental && mojo.isUpToDate(input, outputName, configuration)) {
+                    mojo.getLog().debug("Post processed specification " + outputName + " is up to date with " + input);
+                    processed.put(file, outputName);
+                    continue;
+                }
+                inFlight.acquire();
+                CompletableFuture<?> job;
+                JsonPatch changes = outputs.recorder();
+                if (null != streaming) {
+                    job = CompletableFuture.supplyAsync(Stage.unchecked(() -> {
+                        streaming.stream(input.toPath(), outputName, apiCodes, configuration, changes);
+                        outputs.writePatch(changes, outputName);
+                        return null;
+                    }), processors);
+                } else {
+                    job = CompletableFuture
+                        .supplyAsync(Stage.unchecked(() -> {
+                            Swagger api = mojo.parse(input);
+                            mojo.ApplySpecificHeadersAndResponses(api, apiCodes, changes);
+                            outputs.writePatch(changes, outputName);
+                            if (!outputs.writesSpecification()) {
+                                return null;
+                            }
+                            return outputs.writtenFromModel() ? api : outputs.serialize(api);
+                        }), processors)
+                        .thenAcceptAsync(specification -> Stage.unchecked(() -> {
+                            if (specification instanceof Swagger) {
+                                outputs.write((Swagger) specification, outputName, false);
+                            } else if (null != specification) {
+                                outputs.write((JsonNode) specification, outputName, false);
+                            }
+                            return null;
+                        }).get(), writers);
+                }
+                jobs.add(file, job
+                    .thenRun(() -> {
+                        mojo.metrics().specificationProcessed();
+                        mojo.recordState(input, outputName, configuration);
+                        processed.put(file, outputName);
+                    })
+                    .whenComplete((result, failure) -> inFlight.release()));
+            }
+            jobs.awaitAll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while post processing specifications in " + root, e);
+        } finally {
+            processors.shutdown();
+            writers.shutdown();
+        }
+
+        processed.forEach((file, outputName) -> mojo.attach(outputName, outputName.replace('/', '-')));
+        mojo.getLog().info("Post processed " + processed.size() + " of " + files.length + " specifications in " + root);
+        mojo.report();
+        jobs.check("specifications");
+    }
+}
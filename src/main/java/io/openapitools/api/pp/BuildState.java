@@ -0,0 +1,188 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Manifest of the input, the documents it refers to, configuration and plugin version a set of outputs was produced
+ * from. It allows the post processing to be skipped when nothing has changed since the previous build.
+ */
+final class BuildState {
+
+    private static final String INPUT = "input";
+    private static final String REFERENCE = "reference.";
+    private static final String REMOTE = "reference.remote";
+    private static final String SIZE = ".size";
+    private static final String MODIFIED = ".modified";
+    private static final String HASH = ".sha256";
+    private static final String CONFIGURATION = "configuration";
+    private static final String PLUGIN_VERSION = "plugin.version";
+
+    private final Properties properties;
+
+    private BuildState(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Reads the manifest, an absent manifest gives an empty state which is never up to date.
+     */
+    static BuildState read(File manifest) throws IOException {
+        Properties properties = new Properties();
+        if (manifest.isFile()) {
+            try (InputStream in = Files.newInputStream(manifest.toPath())) {
+                properties.load(in);
+            }
+        }
+        return new BuildState(properties);
+    }
+
+    /**
+     * Records the state of the input and configuration the outputs have just been produced from. When following the
+     * references, the state of every document the input refers to by "$ref", directly or through other documents, is
+     * recorded as well, and a reference to a remote document makes the state one which is never up to date.
+     */
+    static void write(File manifest, File input, boolean references, String configuration, String pluginVersion)
+            throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(INPUT, input.getAbsolutePath());
+        Set<String> found = references ? new LinkedHashSet<>() : null;
+        record(properties, INPUT, input, found);
+        if (null != found) {
+            Set<File> seen = new HashSet<>();
+            seen.add(input.getAbsoluteFile());
+            recordReferences(properties, input, found, seen, 0);
+        }
+        properties.setProperty(CONFIGURATION, configuration);
+        properties.setProperty(PLUGIN_VERSION, String.valueOf(pluginVersion));
+        try (OutputStream out = Files.newOutputStream(manifest.toPath())) {
+            properties.store(out, "API post processor build state");
+        }
+    }
+
+    /**
+     * The input and the referenced documents are up to date if their sizes are unchanged and either their modification
+     * times or content hashes are. The content hash is only calculated when the size is unchanged but the modification
+     * time is not, thus untouched documents are recognized without reading them.
+     */
+    boolean isUpToDate(File input, String configuration, String pluginVersion) throws IOException {
+        if (!input.getAbsolutePath().equals(properties.getProperty(INPUT))
+                || !configuration.equals(properties.getProperty(CONFIGURATION))
+                || !String.valueOf(pluginVersion).equals(properties.getProperty(PLUGIN_VERSION))
+                || null != properties.getProperty(REMOTE)
+                || !isUnchanged(INPUT, input)) {
+            return false;
+        }
+        for (int i = 0; null != properties.getProperty(REFERENCE + i); i++) {
+            if (!isUnchanged(REFERENCE + i, new File(properties.getProperty(REFERENCE + i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isUnchanged(String key, File file) throws IOException {
+        if (!file.isFile() || !String.valueOf(file.length()).equals(properties.getProperty(key + SIZE))) {
+            return false;
+        }
+        return String.valueOf(file.lastModified()).equals(properties.getProperty(key + MODIFIED))
+                || hash(file).equals(properties.getProperty(key + HASH));
+    }
+
+    /**
+     * Records the size, modification time and content hash of the file, adding the references of the file to the
+     * references unless they are null while it is hashed.
+     */
+    private static void record(Properties properties, String key, File file, Collection<String> references)
+            throws IOException {
+        properties.setProperty(key + SIZE, String.valueOf(file.length()));
+        properties.setProperty(key + MODIFIED, String.valueOf(file.lastModified()));
+        if (null == references) {
+            properties.setProperty(key + HASH, hash(file));
+            return;
+        }
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+            SpecificationLoader.references(file.getName(), in, references);
+        }
+        properties.setProperty(key + HASH, hex(digest.digest()));
+    }
+
+    /**
+     * Records the documents referred to from the file, which are relative to the file unless they are remote, and the
+     * documents those refer to in turn, numbering them from the index. The next free index is returned.
+     */
+    private static int recordReferences(Properties properties, File from, Collection<String> references, Set<File> seen,
+                                        int index) throws IOException {
+        int next = index;
+        for (String reference : references) {
+            String location = reference.contains("#") ? reference.substring(0, reference.indexOf('#')) : reference;
+            if (location.contains(":")) {
+                properties.setProperty(REMOTE, reference);
+                continue;
+            }
+            File file = from.getAbsoluteFile().toPath().resolveSibling(location).normalize().toFile();
+            if (location.isEmpty() || !seen.add(file)) {
+                continue;
+            }
+            String key = REFERENCE + next++;
+            properties.setProperty(key, file.getPath());
+            if (file.isFile()) {
+                Set<String> nested = new LinkedHashSet<>();
+                record(properties, key, file, nested);
+                next = recordReferences(properties, file, nested, seen, next);
+            }
+        }
+        return next;
+    }
+
+    static String hash(File file) throws IOException {
+        return hex(digest(file));
+    }
+
+    /**
+     * The SHA-256 digest of the content of the file.
+     */
+    static byte[] digest(File file) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported by the platform", e);
+        }
+    }
+
+    static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package io.openapitools.api.pp;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Sorts the maps of a specification tree which are ordered by parsing and by the order things are added in, thus
+ * equivalent specifications are written identically. Paths, the entries of path items, response codes, response
+ * headers and the global definitions, parameters and responses are sorted by name. Lists such as the parameters of an
+ * operation keep their order, which is given by the input followed by the added headers in a fixed order.
+ */
+final class CanonicalOrder {
+
+    private static final String[] GLOBAL_MAPS = {"paths", "definitions", "parameters", "responses",
+        "securityDefinitions"};
+
+    private CanonicalOrder() {
+        // intentionally empty
+    }
+
+    /**
+     * Sorts the specification in place.
+     */
+    static JsonNode sort(JsonNode specification) {
+        for (String name : GLOBAL_MAPS) {
+            sortFields(specification.get(name));
+        }
+        JsonNode paths = specification.get("paths");
+        if (null != paths) {
+            paths.forEach(CanonicalOrder::sortPathItem);
+        }
+        JsonNode responses = specification.get("responses");
+        if (null != responses) {
+            responses.forEach(response -> sortFields(response.get("headers")));
+        }
+        return specification;
+    }
+
+    /**
+     * Sorts a single path item in place.
+     */
+    static JsonNode sortPathItem(JsonNode pathItem) {
+        sortFields(pathItem);
+        pathItem.forEach(operation -> {
+            JsonNode responses = operation.get("responses");
+            sortFields(responses);
+            if (null != responses) {
+                responses.forEach(response -> sortFields(response.get("headers")));
+            }
+        });
+        return pathItem;
+    }
+
+    private static void sortFields(JsonNode node) {
+        if (!(node instanceof ObjectNode) || node.size() < 2) {
+            return;
+        }
+        ObjectNode object = (ObjectNode) node;
+        Map<String, JsonNode> sorted = new TreeMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = object.fields(); fields.hasNext();) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            sorted.put(field.getKey(), field.getValue());
+        }
+        object.removeAll();
+        object.setAll(sorted);
+    }
+}
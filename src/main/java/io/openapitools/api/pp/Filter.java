@@ -0,0 +1,75 @@
+package io.openapitools.api.pp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the paths and operations to post process. Paths are given as globs, where "*" matches within a segment and
+ * "**" matches any number of segments, e.g. "/internal/**", or as regular expressions in the form "%regex[...]".
+ * Operations are selected by their tags and operation ids. An empty include list includes everything and excludes take
+ * precedence over includes.
+ */
+public class Filter {
+
+    private List<String> includes = new ArrayList<>();
+    private List<String> excludes = new ArrayList<>();
+    private List<String> includeTags = new ArrayList<>();
+    private List<String> excludeTags = new ArrayList<>();
+    private List<String> includeOperationIds = new ArrayList<>();
+    private List<String> excludeOperationIds = new ArrayList<>();
+
+    public List<String> getIncludes() {
+        return includes;
+    }
+
+    public void setIncludes(List<String> includes) {
+        this.includes = includes;
+    }
+
+    public List<String> getExcludes() {
+        return excludes;
+    }
+
+    public void setExcludes(List<String> excludes) {
+        this.excludes = excludes;
+    }
+
+    public List<String> getIncludeTags() {
+        return includeTags;
+    }
+
+    public void setIncludeTags(List<String> includeTags) {
+        this.includeTags = includeTags;
+    }
+
+    public List<String> getExcludeTags() {
+        return excludeTags;
+    }
+
+    public void setExcludeTags(List<String> excludeTags) {
+        this.excludeTags = excludeTags;
+    }
+
+    public List<String> getIncludeOperationIds() {
+        return includeOperationIds;
+    }
+
+    public void setIncludeOperationIds(List<String> includeOperationIds) {
+        this.includeOperationIds = includeOperationIds;
+    }
+
+    public List<String> getExcludeOperationIds() {
+        return excludeOperationIds;
+    }
+
+    public void setExcludeOperationIds(List<String> excludeOperationIds) {
+        this.excludeOperationIds = excludeOperationIds;
+    }
+
+    @Override
+    public String toString() {
+        return "includes=" + includes + ",excludes=" + excludes
+            + ",includeTags=" + includeTags + ",excludeTags=" + excludeTags
+            + ",includeOperationIds=" + includeOperationIds + ",excludeOperationIds=" + excludeOperationIds;
+    }
+}
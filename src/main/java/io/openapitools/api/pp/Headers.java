@@ -1,172 +1,148 @@
 package io.openapitools.api.pp;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import io.swagger.models.Operation;
 import io.swagger.models.parameters.Parameter;
+import io.swagger.util.Json;
 
 /**
- * Add or complement existing headers in an existing Open API specification
+ * Add or complement existing headers in an existing Open API specification. Existing headers are never changed in
+ * place, thus operations can be processed concurrently.
  */
 public final class Headers {
 
+    private static final String HEADER = "header";
+
     private Headers() {
         //intentionally empty
     }
 
+    /**
+     * Adds the standard headers to the operation. A header which is added is a shared instance, which is added to every
+     * operation and fails when it is changed, thus copy it before changing it.
+     */
     public static void addStandardParameters(Operation operation) {
-        addAcceptContentTypeHeader(operation);
-        addLogtokenHeader(operation);
-        addServiceGenerationHeader(operation);
-        addClientVersionHeader(operation);
+        addStandardParameters(operation, ProcessingListener.NONE);
     }
 
-    public static void addPatchHeaders(Operation operation) {
-        addAcceptPatchHeder(operation);
-        addContentTypeHeader(operation);
-    }
     /**
-     *
-     * Opiniated Open API specification standard content-type headers. 
+     * Adds the standard headers as shared instances, notifying the listener of every header added or complemented.
      */
-    private static void addAcceptContentTypeHeader(Operation operation) {
-        String header = "Accept";
-        String description = "Default that is set to application/hal+json and that will return the most recent version " +
-            "of content. If you want another version use application/hal+json;concept=(the projection);v=(the version)";
-        String pattern = "((application\\/hal\\+json)+(, )?(;concept=[a-z][a-z0-9]+)?(;v=[0-9]+)?(, )*)+";
-        if (headerDoesNotExist(operation, header)) {
-            Parameter accept = new io.openapitools.api.pp.HeaderParameter();
-            accept.setIn("header");
-            accept.setRequired(true);
-            accept.setName(header);
-            accept.setPattern(pattern);
-            accept.setDescription(description);
-            operation.addParameter(accept);
-        } else {
-            complementHeaderInformation(operation, header, description, pattern, true);
-        }
+    public static void addStandardParameters(Operation operation, ProcessingListener listener) {
+        addStandardParameters(operation, listener, false);
     }
 
-    private static void addLogtokenHeader(Operation operation) {
-        String header = "X-Log-Token";
-        String description = "A Correlation ID that consumers can specify to ensure traceability from own logs." +
-            " If not present a token will be generated and returned in response";
-        String pattern = "^[a-zA-Z0-9-]{36}$";
-        if (headerDoesNotExist(operation, header)) {
-            Parameter token = new io.openapitools.api.pp.HeaderParameter();
-            token.setIn("header");
-            token.setRequired(false);
-            token.setName(header);
-            token.setPattern(pattern);
-            token.setDescription(description);
-            operation.addParameter(token);
-        } else {
-            complementHeaderInformation(operation, header, description, pattern, false);
-        }
+    /**
+     * Adds the standard headers, which if shared are added as references to their global definitions.
+     */
+    static void addStandardParameters(Operation operation, ProcessingListener listener, boolean shared) {
+        Map<String, Integer> index = index(operation);
+        addHeader(operation, index, Templates.ACCEPT, listener, shared);
+        addHeader(operation, index, Templates.LOG_TOKEN, listener, shared);
+        addHeader(operation, index, Templates.SERVICE_GENERATION, listener, shared);
+        addHeader(operation, index, Templates.CLIENT_VERSION, listener, shared);
     }
 
-    private static void addServiceGenerationHeader(Operation operation) {
-        String header = "X-Service-Generation";
-        String description = "A service generation ID that allows consumers to specify an API structure version " +
-            "other than the current one. If not present the most recent will be chosen";
-        String pattern = "^[0-9]{1}.[0-9]{1}.[0-9]{1}";
-        if (headerDoesNotExist(operation, header)) {
-            Parameter serviceGeneration = new io.openapitools.api.pp.HeaderParameter();
-            serviceGeneration.setIn("header");
-            serviceGeneration.setRequired(false);
-            serviceGeneration.setName(header);
-            serviceGeneration.setPattern(pattern);
-            serviceGeneration.setDescription(description);
-            operation.addParameter(serviceGeneration);
-        } else {
-            complementHeaderInformation(operation, header, description, pattern, false);
-        }
+    /**
+     * Adds the headers of a patch operation. Like the standard headers the headers added are shared instances, which must
+     * be copied before they are changed.
+     */
+    public static void addPatchHeaders(Operation operation) {
+        addPatchHeaders(operation, ProcessingListener.NONE);
     }
 
-    private static void addClientVersionHeader(Operation operation) {
-        String header = "X-Client-Version";
-        String description = "A Client version ID is recommended for traceability from own logs.";
-        String pattern = "^[0-9]{1}.[0-9]{1}.[0-9]{1}";
-        if (headerDoesNotExist(operation, header)) {
-            Parameter clientVersion = new io.openapitools.api.pp.HeaderParameter();
-            clientVersion.setIn("header");
-            clientVersion.setRequired(true);
-            clientVersion.setName(header);
-            clientVersion.setPattern(pattern);
-            clientVersion.setDescription(description);
-            operation.addParameter(clientVersion);
-        } else {
-            complementHeaderInformation(operation, header, description, pattern, true);
-        }
+    /**
+     * Adds the headers of a patch operation as shared instances, notifying the listener of every header added or
+     * complemented.
+     */
+    public static void addPatchHeaders(Operation operation, ProcessingListener listener) {
+        addPatchHeaders(operation, listener, false);
     }
 
-    private static void addAcceptPatchHeder(Operation operation) {
-        String header = "Accept-Patch";
-        String description = "A an explicit header for the accept of Patch Verb.";
-        String pattern = "^application/patch+json";
-        if (headerDoesNotExist(operation, header)) {
-            Parameter acceptPatch = new io.openapitools.api.pp.HeaderParameter();
-            acceptPatch.setIn("header");
-            acceptPatch.setRequired(true);
-            acceptPatch.setName(header);
-            acceptPatch.setPattern(pattern);
-            acceptPatch.setDescription(description);
-            operation.addParameter(acceptPatch);
-        } else {
-            complementHeaderInformation(operation, header, description, pattern, true);
-        }
+    static void addPatchHeaders(Operation operation, ProcessingListener listener, boolean shared) {
+        Map<String, Integer> index = index(operation);
+        addHeader(operation, index, Templates.ACCEPT_PATCH, listener, shared);
+        addHeader(operation, index, Templates.CONTENT_TYPE, listener, shared);
     }
 
-    private static void addContentTypeHeader(Operation operation) {
-        String header = "Content-Type";
-        String description = "A an explicit header for the body json.";
-        String pattern = "^application/patch+json";
-        if (headerDoesNotExist(operation, header)) {
-            Parameter acceptPatch = new io.openapitools.api.pp.HeaderParameter();
-            acceptPatch.setIn("header");
-            acceptPatch.setRequired(true);
-            acceptPatch.setName(header);
-            acceptPatch.setPattern(pattern);
-            acceptPatch.setDescription(description);
-            operation.addParameter(acceptPatch);
-        } else {
-            complementHeaderInformation(operation, header, description, pattern, true);
+    /**
+     * Indexes the position of the header parameters of the operation by their case insensitive name, if the same header
+     * is given more than once the first is used. References to the global standard headers are indexed by the name of
+     * the header referenced.
+     */
+    private static Map<String, Integer> index(Operation operation) {
+        Map<String, Integer> index = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        List<Parameter> parameters = operation.getParameters();
+        if (null != parameters) {
+            for (int i = 0; i < parameters.size(); i++) {
+                Parameter parameter = parameters.get(i);
+                String name = HEADER.equals(parameter.getIn()) ? parameter.getName() : Templates.referencedHeader(parameter);
+                if (null != name) {
+                    index.putIfAbsent(name, i);
+                }
+            }
         }
+        return index;
     }
 
-    private static boolean headerDoesNotExist(Operation operation, String header) {
-        List<Parameter> parameters = operation.getParameters();
-        boolean addHeader = true;
-        if (null != parameters) {
-            addHeader = !parameters.stream()
-                .filter(param -> param.getName().equals(header))
-                .findFirst()
-                .isPresent();
+    /**
+     * Adds the shared header from {@link Templates}, or a reference to it, or complements the existing header with the
+     * information from it. A reference to the global standard header is complete as it is, and when shared an existing
+     * header which is the same as the standard header once complemented is replaced by a reference.
+     */
+    private static void addHeader(Operation operation, Map<String, Integer> index, String header,
+                                  ProcessingListener listener, boolean shared) {
+        Parameter template = Templates.requestHeader(header);
+        Integer position = index.get(header);
+        if (null == position) {
+            Parameter added = shared ? Templates.requestHeaderReference(header) : template;
+            operation.addParameter(added);
+            index.put(header, operation.getParameters().size() - 1);
+            listener.parameterAdded(operation, added);
+        } else if (null == Templates.referencedHeader(operation.getParameters().get(position))) {
+            Parameter complemented = complementHeaderInformation(operation.getParameters(), position,
+                template.getDescription(), template.getPattern(), template.getRequired());
+            if (shared && Templates.isStandard(operation.getParameters().get(position), header)) {
+                complemented = Templates.requestHeaderReference(header);
+                operation.getParameters().set(position, complemented);
+            }
+            if (null != complemented) {
+                listener.parameterComplemented(operation, complemented);
+            }
         }
-        return addHeader;
     }
 
-    private static void complementHeaderInformation(Operation operation, String header, String description,
+    /**
+     * Complements an existing header. The existing parameter may be shared with other operations, thus it is replaced by
+     * a complemented copy instead of being changed in place. The copy is returned, or null if nothing was missing.
+     */
+    private static Parameter complementHeaderInformation(List<Parameter> parameters, int position, String description,
                                                     String pattern, boolean required) {
-        Parameter parameter;
-        List<Parameter> parameters = operation.getParameters();
-        if (null != parameters) {
-            parameter = parameters.stream()
-                .filter(param -> param.getName().equals(header))
-                .findFirst()
-                .get();
-            if (null != parameter) {
-                if (null == parameter.getDescription() || "".equals(parameter.getDescription())) {
-                    parameter.setDescription(description);
-                }
-                if (null == parameter.getPattern() && pattern != null) {
-                    parameter.setPattern(pattern);
-                }
-                if (!parameter.getRequired() && required) {
-                    parameter.setRequired(true);
-                }
+        Parameter parameter = parameters.get(position);
+        boolean describe = null == parameter.getDescription() || "".equals(parameter.getDescription());
+        boolean restrict = null == parameter.getPattern() && pattern != null;
+        boolean require = !parameter.getRequired() && required;
+        if (describe || restrict || require) {
+            Parameter complemented = copy(parameter);
+            if (describe) {
+                complemented.setDescription(description);
             }
-
+            if (restrict) {
+                complemented.setPattern(pattern);
+            }
+            if (require) {
+                complemented.setRequired(true);
+            }
+            parameters.set(position, complemented);
+            return complemented;
         }
+        return null;
+    }
+
+    private static Parameter copy(Parameter parameter) {
+        return Json.mapper().convertValue(parameter, Parameter.class);
     }
 }
@@ -0,0 +1,56 @@
+package io.openapitools.api.pp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * Jobs running concurrently, each named after what it post processes, e.g. a specification or a profile. A job which
+ * fails does not stop the others, its failure is collected and the failures are reported together once every job has
+ * completed.
+ */
+final class Jobs {
+
+    private final Map<String, Throwable> failures = new ConcurrentSkipListMap<>();
+    private final List<CompletableFuture<?>> jobs = new ArrayList<>();
+
+    /**
+     * Adds the job, collecting its failure under the name.
+     */
+    void add(String name, CompletableFuture<?> job) {
+        jobs.add(job.whenComplete((result, failure) -> {
+            if (null != failure) {
+                failures.put(name, failure instanceof CompletionException ? failure.getCause() : failure);
+            }
+        }));
+    }
+
+    /**
+     * Waits until every job has completed, whether it succeeded or failed.
+     */
+    void awaitAll() {
+        CompletableFuture.allOf(jobs.toArray(new CompletableFuture<?>[0])).exceptionally(failure -> null).join();
+    }
+
+    boolean failed(String name) {
+        return failures.containsKey(name);
+    }
+
+    /**
+     * Fails with the failure of every job which failed, describing what the jobs post processed, e.g. "profiles".
+     */
+    void check(String processed) throws MojoFailureException {
+        if (failures.isEmpty()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("Unable to post process " + failures.size() + " " + processed + ":");
+        failures.forEach((name, failure) -> message.append(System.lineSeparator())
+            .append("  ").append(name).append(": ").append(failure.getMessage()));
+        throw new MojoFailureException(message.toString());
+    }
+}
@@ -0,0 +1,154 @@
+package io.openapitools.api.pp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.Parameter;
+
+/**
+ * Records the changes made while post processing a specification as an RFC 6902 JSON Patch, which applied to the input
+ * specification gives the post processed specification. The operations of each path are recorded in the order the
+ * changes are made, and the paths are ordered by their keys, thus the patch is the same when processing in parallel.
+ * Shared components added to the global sections are recorded after the changes of the paths. An operation is only
+ * tracked while its path is being processed.
+ */
+final class JsonPatch implements ProcessingListener {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final String ADD = "add";
+    private static final String REPLACE = "replace";
+
+    private final Map<Operation, Location> locations = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<String, List<ObjectNode>> changes = new ConcurrentSkipListMap<>();
+    private final List<ObjectNode> components = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public void pathStarted(String key, Path path) {
+        List<ObjectNode> recorded = new ArrayList<>();
+        changes.put(key, recorded);
+        String pointer = "/paths/" + escape(key) + "/";
+        path.getOperationMap().forEach((method, operation) ->
+            locations.put(operation, new Location(pointer + method.name().toLowerCase(), recorded)));
+    }
+
+    @Override
+    public void pathProcessed(Path path) {
+        path.getOperations().forEach(locations::remove);
+    }
+
+    @Override
+    public void responseAdded(Operation operation, String code, Response response) {
+        Location location = locations.get(operation);
+        if (null == location) {
+            return;
+        }
+        if (operation.getResponses().size() == 1) {
+            ObjectNode responses = NODES.objectNode();
+            responses.set(code, OutputFormat.toTree(response));
+            location.record(ADD, "/responses", responses);
+        } else {
+            location.record(ADD, "/responses/" + escape(code), OutputFormat.toTree(response));
+        }
+    }
+
+    @Override
+    public void responseComplemented(Operation operation, String code, Response response) {
+        Location location = locations.get(operation);
+        if (null != location) {
+            location.record(REPLACE, "/responses/" + escape(code), OutputFormat.toTree(response));
+        }
+    }
+
+    @Override
+    public void parameterAdded(Operation operation, Parameter parameter) {
+        Location location = locations.get(operation);
+        if (null == location) {
+            return;
+        }
+        if (operation.getParameters().size() == 1) {
+            location.record(ADD, "/parameters", NODES.arrayNode().add(OutputFormat.toTree(parameter)));
+        } else {
+            location.record(ADD, "/parameters/-", OutputFormat.toTree(parameter));
+        }
+    }
+
+    @Override
+    public void parameterComplemented(Operation operation, Parameter parameter) {
+        Location location = locations.get(operation);
+        if (null == location) {
+            return;
+        }
+        List<Parameter> parameters = operation.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (parameters.get(i) == parameter) {
+                location.record(REPLACE, "/parameters/" + i, OutputFormat.toTree(parameter));
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void componentAdded(String section, String name, Object component, boolean sectionCreated) {
+        if (sectionCreated) {
+            ObjectNode created = NODES.objectNode();
+            created.set(name, OutputFormat.toTree(component));
+            components.add(change(ADD, "/" + escape(section), created));
+        } else {
+            components.add(change(ADD, "/" + escape(section) + "/" + escape(name), OutputFormat.toTree(component)));
+        }
+    }
+
+    /**
+     * The recorded patch, an array of operations which is empty if nothing was changed.
+     */
+    JsonNode toTree() {
+        ArrayNode patch = NODES.arrayNode();
+        changes.values().forEach(patch::addAll);
+        patch.addAll(components);
+        return patch;
+    }
+
+    private static ObjectNode change(String op, String path, JsonNode value) {
+        ObjectNode change = NODES.objectNode();
+        change.put("op", op);
+        change.put("path", path);
+        change.set("value", value);
+        return change;
+    }
+
+    /**
+     * Escapes a key as a reference token of a JSON Pointer.
+     */
+    static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+
+    /**
+     * The pointer to an operation and the changes recorded for its path item, which is processed by a single thread.
+     */
+    private static final class Location {
+
+        private final String pointer;
+        private final List<ObjectNode> recorded;
+
+        private Location(String pointer, List<ObjectNode> recorded) {
+            this.pointer = pointer;
+            this.recorded = recorded;
+        }
+
+        void record(String op, String target, JsonNode value) {
+            recorded.add(change(op, pointer + target, value));
+        }
+    }
+}
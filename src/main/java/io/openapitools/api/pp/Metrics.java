@@ -0,0 +1,150 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.Parameter;
+
+/**
+ * Counters and phase timers of a post processing execution. The counters are updated as the changes are made, thus
+ * paths may be processed concurrently and several specifications may be post processed at once.
+ */
+final class Metrics implements ProcessingListener {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * The phases of post processing a specification. Streaming reads, processes and writes in a single phase.
+     */
+    enum Phase {
+        PARSE, TRANSFORM, SERIALIZE, WRITE, STREAM
+    }
+
+    private final LongAdder specifications = new LongAdder();
+    private final LongAdder paths = new LongAdder();
+    private final LongAdder operations = new LongAdder();
+    private final LongAdder responsesAdded = new LongAdder();
+    private final LongAdder responsesComplemented = new LongAdder();
+    private final LongAdder parametersAdded = new LongAdder();
+    private final LongAdder parametersComplemented = new LongAdder();
+    private final Map<Phase, LongAdder> nanos = new EnumMap<>(Phase.class);
+    private final Map<String, LongAdder> bytesWritten = new ConcurrentSkipListMap<>();
+
+    Metrics() {
+        for (Phase phase : Phase.values()) {
+            nanos.put(phase, new LongAdder());
+        }
+    }
+
+    @Override
+    public void pathProcessed(Path path) {
+        paths.increment();
+        operations.add(path.getOperations().size());
+    }
+
+    @Override
+    public void responseAdded(Operation operation, String code, Response response) {
+        responsesAdded.increment();
+    }
+
+    @Override
+    public void responseComplemented(Operation operation, String code, Response response) {
+        responsesComplemented.increment();
+    }
+
+    @Override
+    public void parameterAdded(Operation operation, Parameter parameter) {
+        parametersAdded.increment();
+    }
+
+    @Override
+    public void parameterComplemented(Operation operation, Parameter parameter) {
+        parametersComplemented.increment();
+    }
+
+    void specificationProcessed() {
+        specifications.increment();
+    }
+
+    /**
+     * Adds the time elapsed since the start, as given by {@link System#nanoTime()}, to the phase.
+     */
+    void elapsed(Phase phase, long start) {
+        nanos.get(phase).add(System.nanoTime() - start);
+    }
+
+    /**
+     * Adds the size of an output of the given type, e.g. "json" or "json.gz".
+     */
+    void written(String type, File output) {
+        bytesWritten.computeIfAbsent(type, written -> new LongAdder()).add(output.length());
+    }
+
+    /**
+     * Summary of the counters and the phases which took any time.
+     */
+    String summary() {
+        StringBuilder summary = new StringBuilder()
+            .append(paths.sum()).append(" paths, ")
+            .append(operations.sum()).append(" operations, added ")
+            .append(responsesAdded.sum()).append(" responses and ")
+            .append(parametersAdded.sum()).append(" parameters, complemented ")
+            .append(responsesComplemented.sum()).append(" responses and ")
+            .append(parametersComplemented.sum()).append(" parameters in");
+        phases().forEach((phase, millis) -> summary.append(' ').append(phase).append(' ').append(millis).append(" ms"));
+        return summary.toString();
+    }
+
+    /**
+     * Bytes written per output type.
+     */
+    String written() {
+        StringBuilder written = new StringBuilder("Bytes written");
+        bytes().forEach((type, bytes) -> written.append(' ').append(type).append(' ').append(bytes));
+        return written.toString();
+    }
+
+    void write(File file) throws IOException {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("specifications", specifications.sum());
+        counters.put("paths", paths.sum());
+        counters.put("operations", operations.sum());
+        counters.put("responsesAdded", responsesAdded.sum());
+        counters.put("responsesComplemented", responsesComplemented.sum());
+        counters.put("parametersAdded", parametersAdded.sum());
+        counters.put("parametersComplemented", parametersComplemented.sum());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("counters", counters);
+        report.put("phasesMillis", phases());
+        report.put("bytesWritten", bytes());
+        MAPPER.writeValue(file, report);
+    }
+
+    private Map<String, Long> phases() {
+        Map<String, Long> phases = new LinkedHashMap<>();
+        nanos.forEach((phase, elapsed) -> {
+            if (elapsed.sum() > 0) {
+                phases.put(phase.name().toLowerCase(), TimeUnit.NANOSECONDS.toMillis(elapsed.sum()));
+            }
+        });
+        return phases;
+    }
+
+    private Map<String, Long> bytes() {
+        Map<String, Long> bytes = new LinkedHashMap<>();
+        bytesWritten.forEach((type, written) -> bytes.put(type, written.sum()));
+        return bytes;
+    }
+}
@@ -0,0 +1,213 @@
+package io.openapitools.api.pp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import io.swagger.models.Operation;
+
+/**
+ * A {@link Filter} compiled once for matching every path and operation of a specification. The path globs are kept in
+ * a trie of path segments, thus a path is matched by walking its segments once instead of trying every pattern, and
+ * tags and operation ids are looked up in sets. A matcher is not changed after it has been compiled and may be used
+ * concurrently.
+ */
+final class OperationMatcher {
+
+    /**
+     * Matches every path and operation.
+     */
+    static final OperationMatcher ALL = new OperationMatcher(new Filter());
+
+    private static final String REGEX_PREFIX = "%regex[";
+    private static final String REGEX_SUFFIX = "]";
+
+    private final PathPatterns includes;
+    private final PathPatterns excludes;
+    private final Set<String> includeTags;
+    private final Set<String> excludeTags;
+    private final Set<String> includeOperationIds;
+    private final Set<String> excludeOperationIds;
+
+    private OperationMatcher(Filter filter) {
+        includes = new PathPatterns(filter.getIncludes());
+        excludes = new PathPatterns(filter.getExcludes());
+        includeTags = set(filter.getIncludeTags());
+        excludeTags = set(filter.getExcludeTags());
+        includeOperationIds = set(filter.getIncludeOperationIds());
+        excludeOperationIds = set(filter.getExcludeOperationIds());
+    }
+
+    static OperationMatcher compile(Filter filter) {
+        return null == filter ? ALL : new OperationMatcher(filter);
+    }
+
+    /**
+     * Whether the operations of the path are post processed, as given by the path key, e.g. "/pets/{id}".
+     */
+    boolean matches(String path) {
+        return (includes.isEmpty() || includes.matches(path)) && !excludes.matches(path);
+    }
+
+    /**
+     * Whether the operation of an included path is post processed.
+     */
+    boolean matches(Operation operation) {
+        List<String> tags = null == operation.getTags() ? Collections.emptyList() : operation.getTags();
+        if (!includeTags.isEmpty() && tags.stream().noneMatch(includeTags::contains)) {
+            return false;
+        }
+        if (!excludeTags.isEmpty() && tags.stream().anyMatch(excludeTags::contains)) {
+            return false;
+        }
+        String operationId = operation.getOperationId();
+        return (includeOperationIds.isEmpty() || includeOperationIds.contains(operationId))
+            && !excludeOperationIds.contains(operationId);
+    }
+
+    private static Set<String> set(Collection<String> values) {
+        return null == values ? Collections.emptySet() : new HashSet<>(values);
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/", -1);
+    }
+
+    /**
+     * Path globs compiled into a trie of segments together with the path regular expressions.
+     */
+    private static final class PathPatterns {
+
+        private final Node root = new Node();
+        private final List<Pattern> regexes = new ArrayList<>();
+        private final boolean empty;
+
+        private PathPatterns(Collection<String> patterns) {
+            empty = null == patterns || patterns.isEmpty();
+            if (empty) {
+                return;
+            }
+            for (String pattern : patterns) {
+                String trimmed = pattern.trim();
+                if (trimmed.startsWith(REGEX_PREFIX) && trimmed.endsWith(REGEX_SUFFIX)) {
+                    regexes.add(Pattern.compile(
+                        trimmed.substring(REGEX_PREFIX.length(), trimmed.length() - REGEX_SUFFIX.length())));
+                } else {
+                    Node node = root;
+                    for (String segment : segments(trimmed)) {
+                        node = node.child(segment);
+                    }
+                    node.terminal = true;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return empty;
+        }
+
+        boolean matches(String path) {
+            if (empty) {
+                return false;
+            }
+            if (root.matches(segments(path), 0)) {
+                return true;
+            }
+            for (Pattern regex : regexes) {
+                if (regex.matcher(path).matches()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A segment of the path globs, having literal children, children with wildcards matching a single segment and a
+     * child matching any number of segments.
+     */
+    private static final class Node {
+
+        private static final String ANY_SEGMENTS = "**";
+
+        private final Map<String, Node> literals = new HashMap<>();
+        private final Map<String, Wildcard> wildcards = new HashMap<>();
+        private Node anySegments;
+        private boolean terminal;
+
+        Node child(String segment) {
+            if (ANY_SEGMENTS.equals(segment)) {
+                if (null == anySegments) {
+                    anySegments = new Node();
+                }
+                return anySegments;
+            }
+            if (segment.indexOf('*') < 0 && segment.indexOf('?') < 0) {
+                return literals.computeIfAbsent(segment, literal -> new Node());
+            }
+            return wildcards.computeIfAbsent(segment, Wildcard::new).node;
+        }
+
+        boolean matches(String[] segments, int index) {
+            if (null != anySegments) {
+                for (int next = index; next <= segments.length; next++) {
+                    if (anySegments.matches(segments, next)) {
+                        return true;
+                    }
+                }
+            }
+            if (index == segments.length) {
+                return terminal;
+            }
+            Node literal = literals.get(segments[index]);
+            if (null != literal && literal.matches(segments, index + 1)) {
+                return true;
+            }
+            for (Wildcard wildcard : wildcards.values()) {
+                if (wildcard.pattern.matcher(segments[index]).matches() && wildcard.node.matches(segments, index + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A segment containing "*" matching any characters or "?" matching a single character.
+     */
+    private static final class Wildcard {
+
+        private final Pattern pattern;
+        private final Node node = new Node();
+
+        private Wildcard(String segment) {
+            StringBuilder regex = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (char c : segment.toCharArray()) {
+                if (c == '*' || c == '?') {
+                    if (literal.length() > 0) {
+                        regex.append(Pattern.quote(literal.toString()));
+                        literal.setLength(0);
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                } else {
+                    literal.append(c);
+                }
+            }
+            if (literal.length() > 0) {
+                regex.append(Pattern.quote(literal.toString()));
+            }
+            pattern = Pattern.compile(regex.toString());
+        }
+    }
+}
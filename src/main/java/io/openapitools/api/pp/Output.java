@@ -0,0 +1,205 @@
+package io.openapitools.api.pp;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An output file, optionally with a GZIP compressed copy produced in the same pass by teeing everything written into a
+ * GZIP stream. The content is written to temporary files which only replace the files when committed, and only if the
+ * content differs, thus files having the same content are left untouched. Temporary files which are not committed are
+ * deleted when the output is closed.
+ */
+final class Output implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<Target> targets = new ArrayList<>();
+    private OutputStream stream;
+
+    private Output() {
+    }
+
+    static Output open(File file) throws IOException {
+        Output output = new Output();
+        try {
+            output.stream = output.target(file);
+        } catch (IOException | RuntimeException e) {
+            output.close();
+            throw e;
+        }
+        return output;
+    }
+
+    /**
+     * Opens the output and the compressed copy of it, compressed using the given level from 1 (fastest) to 9 (best).
+     */
+    static Output open(File file, File compressed, int level) throws IOException {
+        Output output = new Output();
+        try {
+            OutputStream plain = output.target(file);
+            output.stream = new Tee(plain, new LeveledGZIPOutputStream(output.target(compressed), level));
+        } catch (IOException | RuntimeException e) {
+            output.close();
+            throw e;
+        }
+        return output;
+    }
+
+    /**
+     * A stream discarding everything written to it, used when only the changes made while processing are of interest.
+     */
+    static OutputStream discard() {
+        return new Discard();
+    }
+
+    /**
+     * The stream to write the content to, closing it does not commit the output.
+     */
+    OutputStream stream() {
+        return stream;
+    }
+
+    /**
+     * Replaces the files having a different content with the content written, returns true if any file was replaced.
+     */
+    boolean commit() throws IOException {
+        stream.close();
+        boolean replaced = false;
+        for (Target target : targets) {
+            replaced |= target.commit();
+        }
+        return replaced;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (null != stream) {
+                stream.close();
+            }
+        } finally {
+            for (Target target : targets) {
+                Files.deleteIfExists(target.temporary);
+            }
+        }
+    }
+
+    private OutputStream target(File file) throws IOException {
+        Path temporary = File.createTempFile("." + file.getName(), ".tmp", file.getAbsoluteFile().getParentFile()).toPath();
+        Target target = new Target(file, temporary);
+        targets.add(target);
+        return target.open();
+    }
+
+    /**
+     * A file and the temporary file its new content is written to.
+     */
+    private static final class Target {
+        private final File file;
+        private final Path temporary;
+        private DigestOutputStream digest;
+
+        private Target(File file, Path temporary) {
+            this.file = file;
+            this.temporary = temporary;
+        }
+
+        OutputStream open() throws IOException {
+            digest = new DigestOutputStream(new FileOutputStream(temporary.toFile()), BuildState.sha256());
+            return digest;
+        }
+
+        boolean commit() throws IOException {
+            if (file.isFile() && file.length() == Files.size(temporary)
+                    && Arrays.equals(BuildState.digest(file), digest.getMessageDigest().digest())) {
+                Files.delete(temporary);
+                return false;
+            }
+            try {
+                Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes everything to both of the streams.
+     */
+    private static final class Tee extends OutputStream {
+        private final OutputStream first;
+        private final OutputStream second;
+
+        private Tee(OutputStream first, OutputStream second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            first.write(b);
+            second.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            first.write(bytes, offset, length);
+            second.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            first.flush();
+            second.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                second.close();
+            } finally {
+                first.close();
+            }
+        }
+    }
+
+    /**
+     * Stream which writes nowhere.
+     */
+    private static final class Discard extends OutputStream {
+
+        @Override
+        public void write(int b) {
+            // intentionally empty
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // intentionally empty
+        }
+    }
+
+    /**
+     * GZIP stream using a given compression level.
+     */
+    private static final class LeveledGZIPOutputStream extends GZIPOutputStream {
+
+        private LeveledGZIPOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+    }
+}
@@ -2,36 +2,99 @@ package io.openapitools.api.pp;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.swagger.models.Swagger;
+import io.swagger.util.Json;
 import io.swagger.util.Yaml;
 
 /**
- * Supported output formats.
+ * Supported output formats. When more than one format is written the specification is converted once into a tree, which
+ * every format then writes using a pre-configured writer shared by all executions, while a single JSON output is written
+ * straight from the model. CBOR and Smile are binary encodings of JSON for tools loading the
+ * specification, which are smaller and quicker to read than the text formats.
  */
 public enum OutputFormat {
 
-    JSON(new JSONWriter()),
-    YAML(new YAMLWriter());
+    JSON(new JSONWriter(), "json"),
+    YAML(new YAMLWriter(), "yaml"),
+    CBOR(new CBORWriter(), "cbor"),
+    SMILE(new SmileWriter(), "smile");
+
+    /**
+     * Keeps decimals as they are in the model, e.g. a maximum of 10 is not written as 1E+1.
+     */
+    private static final ObjectMapper TREE_MAPPER = Json.mapper().copy()
+        .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+        .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+    private static final ObjectWriter MODEL_WRITER = TREE_MAPPER.writer();
 
     private final SwaggerWriter writer;
+    private final String type;
 
-    OutputFormat(SwaggerWriter writer) {
+    OutputFormat(SwaggerWriter writer, String type) {
         this.writer = writer;
+        this.type = type;
     }
 
     public void write(Swagger swagger, File file) throws IOException {
-        writer.write(swagger, file);
+        if (this == JSON) {
+            MODEL_WRITER.writeValue(file, swagger);
+        } else {
+            write(toTree(swagger), file);
+        }
+    }
+
+    /**
+     * Writes the model with the same inclusion as when it is converted into a tree, which for JSON is done straight from
+     * the model without building the tree.
+     */
+    public void write(Swagger swagger, OutputStream out) throws IOException {
+        if (this == JSON) {
+            MODEL_WRITER.writeValue(out, swagger);
+        } else {
+            write(toTree(swagger), out);
+        }
+    }
+
+    public void write(JsonNode specification, File file) throws IOException {
+        writer.writer().writeValue(file, specification);
+    }
+
+    public void write(JsonNode specification, OutputStream out) throws IOException {
+        writer.writer().writeValue(out, specification);
+    }
+
+    ObjectWriter writer() {
+        return writer.writer();
+    }
+
+    /**
+     * The artifact type, which is also the extension of the output file.
+     */
+    String type() {
+        return type;
+    }
+
+    /**
+     * Converts a model, e.g. the full specification or a single path, into the tree written by the output formats.
+     */
+    static JsonNode toTree(Object model) {
+        return TREE_MAPPER.valueToTree(model);
     }
 
     /**
      * Interface defining requirements for being able to write out Swagger instance to file.
      */
-    @FunctionalInterface
     interface SwaggerWriter {
-        void write(Swagger swagger, File file) throws IOException;
+        ObjectWriter writer();
     }
 
     /**
@@ -39,11 +102,11 @@ public enum OutputFormat {
      */
     static class JSONWriter implements SwaggerWriter {
 
+        private static final ObjectWriter WRITER = new ObjectMapper().writer();
+
         @Override
-        public void write(Swagger swagger, File file) throws IOException {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
-            mapper.writeValue(file, swagger);
+        public ObjectWriter writer() {
+            return WRITER;
         }
     }
 
@@ -52,9 +115,37 @@ public enum OutputFormat {
      */
     static class YAMLWriter implements SwaggerWriter {
 
+        private static final ObjectWriter WRITER = Yaml.mapper().writer();
+
+        @Override
+        public ObjectWriter writer() {
+            return WRITER;
+        }
+    }
+
+    /**
+     * As the Maven plugin plugin does not support lambdas properly a real implementation is needed.
+     */
+    static class CBORWriter implements SwaggerWriter {
+
+        private static final ObjectWriter WRITER = new ObjectMapper(new CBORFactory()).writer();
+
+        @Override
+        public ObjectWriter writer() {
+            return WRITER;
+        }
+    }
+
+    /**
+     * As the Maven plugin plugin does not support lambdas properly a real implementation is needed.
+     */
+    static class SmileWriter implements SwaggerWriter {
+
+        private static final ObjectWriter WRITER = new ObjectMapper(new SmileFactory()).writer();
+
         @Override
-        public void write(Swagger swagger, File file) throws IOException {
-            Yaml.mapper().writeValue(file, swagger);
+        public ObjectWriter writer() {
+            return WRITER;
         }
     }
 }
@@ -0,0 +1,253 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Swagger;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * The files written for an output name within the output directory, which are the specification in every format, their
+ * compressed copies and the JSON Patch as configured. A specification is written straight from the model when JSON is
+ * the only format and the order is not canonical, otherwise the model is converted once into the tree every format
+ * writes. Outputs which are unchanged are not replaced.
+ */
+final class Outputs {
+
+    static final String PATCH_TYPE = "patch.json";
+
+    private final File directory;
+    private final Set<OutputFormat> formats;
+    private final boolean canonical;
+    private final boolean compress;
+    private final int compressionLevel;
+    private final PatchOutput patch;
+    private final Metrics metrics;
+    private final Log log;
+
+    Outputs(File directory, Set<OutputFormat> formats, boolean canonical, boolean compress, int compressionLevel,
+            PatchOutput patch, Metrics metrics, Log log) {
+        this.directory = directory;
+        this.formats = formats;
+        this.canonical = canonical;
+        this.compress = compress;
+        this.compressionLevel = compressionLevel;
+        this.patch = patch;
+        this.metrics = metrics;
+        this.log = log;
+    }
+
+    Set<OutputFormat> formats() {
+        return formats;
+    }
+
+    boolean isCanonical() {
+        return canonical;
+    }
+
+    boolean isCompressed() {
+        return compress;
+    }
+
+    /**
+     * Whether the specification is written, which is not the case when the patch is written instead.
+     */
+    boolean writesSpecification() {
+        return patch != PatchOutput.INSTEAD;
+    }
+
+    /**
+     * Whether the changes are written as a patch.
+     */
+    boolean writesPatch() {
+        return patch != PatchOutput.NONE;
+    }
+
+    /**
+     * A recorder of the changes if a patch is to be written, otherwise null.
+     */
+    JsonPatch recorder() {
+        return writesPatch() ? new JsonPatch() : null;
+    }
+
+    /**
+     * All files written for the output name with the current configuration.
+     */
+    List<File> files(String outputName) {
+        List<File> files = new ArrayList<>();
+        if (writesSpecification()) {
+            for (OutputFormat format : formats) {
+                File outputFile = file(outputName, format);
+                files.add(outputFile);
+                if (compress) {
+                    files.add(compressedFile(outputFile));
+                }
+            }
+        }
+        if (writesPatch()) {
+            files.add(patchFile(outputName));
+        }
+        return files;
+    }
+
+    File file(String outputName, OutputFormat format) {
+        return file(outputName, format.type());
+    }
+
+    /**
+     * A file named after the output with the given extension, e.g. the build state kept next to the outputs.
+     */
+    File file(String outputName, String extension) {
+        return new File(directory, outputName + "." + extension);
+    }
+
+    File patchFile(String outputName) {
+        return file(outputName, PATCH_TYPE);
+    }
+
+    static File compressedFile(File outputFile) {
+        return new File(outputFile.getPath() + ".gz");
+    }
+
+    static String compressedType(OutputFormat format) {
+        return format.type() + ".gz";
+    }
+
+    void createParentDirectory(String outputName) {
+        File parent = file(outputName, OutputFormat.JSON).getParentFile();
+        if (parent.mkdirs()) {
+            log.debug("Created output directory " + parent);
+        }
+    }
+
+    JsonNode serialize(Swagger api) {
+        long start = System.nanoTime();
+        JsonNode specification = OutputFormat.toTree(api);
+        if (canonical) {
+            CanonicalOrder.sort(specification);
+        }
+        metrics.elapsed(Metrics.Phase.SERIALIZE, start);
+        return specification;
+    }
+
+    /**
+     * Whether the specification is written straight from the model, which is the case when JSON is the only format and
+     * the output is not put in canonical order. Otherwise the model is converted once into the tree every format writes.
+     */
+    boolean writtenFromModel() {
+        return !canonical && formats.size() == 1 && formats.contains(OutputFormat.JSON);
+    }
+
+    void write(Swagger api, String outputName, boolean concurrently) throws MojoExecutionException {
+        if (!writtenFromModel()) {
+            write(serialize(api), outputName, concurrently);
+            return;
+        }
+        createParentDirectory(outputName);
+        File outputFile = file(outputName, OutputFormat.JSON);
+        long start = System.nanoTime();
+        try (Output out = open(outputFile)) {
+            OutputFormat.JSON.write(api, out.stream());
+            commit(out, outputFile);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write " + outputName + " document", e);
+        }
+        metrics.elapsed(Metrics.Phase.WRITE, start);
+        written(OutputFormat.JSON, outputFile);
+    }
+
+    /**
+     * Writes the already serialized specification in all requested formats, optionally writing the formats concurrently.
+     */
+    void write(JsonNode specification, String outputName, boolean concurrently) throws MojoExecutionException {
+        createParentDirectory(outputName);
+        if (!concurrently || formats.size() < 2) {
+            for (OutputFormat format : formats) {
+                write(format, specification, outputName);
+            }
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(formats.size());
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (OutputFormat format : formats) {
+                writes.add(executor.submit(() -> {
+                    write(format, specification, outputName);
+                    return null;
+                }));
+            }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while writing " + outputName, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MojoExecutionException) {
+                throw (MojoExecutionException) e.getCause();
+            }
+            throw new MojoExecutionException("Unable to write " + outputName + " document", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void write(OutputFormat format, JsonNode specification, String outputName) throws MojoExecutionException {
+        File outputFile = file(outputName, format);
+        long start = System.nanoTime();
+        try (Output out = open(outputFile)) {
+            format.write(specification, out.stream());
+            commit(out, outputFile);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write " + outputName + " document", e);
+        }
+        metrics.elapsed(Metrics.Phase.WRITE, start);
+        written(format, outputFile);
+    }
+
+    void writePatch(JsonPatch changes, String outputName) throws MojoExecutionException {
+        if (null == changes) {
+            return;
+        }
+        createParentDirectory(outputName);
+        File patchFile = patchFile(outputName);
+        try (Output out = Output.open(patchFile)) {
+            OutputFormat.JSON.write(changes.toTree(), out.stream());
+            commit(out, patchFile);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write patch " + patchFile, e);
+        }
+        metrics.written(PATCH_TYPE, patchFile);
+    }
+
+    /**
+     * Opens the output, teeing it into a compressed copy if requested.
+     */
+    Output open(File outputFile) throws IOException {
+        return compress
+            ? Output.open(outputFile, compressedFile(outputFile), compressionLevel)
+            : Output.open(outputFile);
+    }
+
+    void commit(Output out, File outputFile) throws IOException {
+        if (!out.commit()) {
+            log.debug("Output " + outputFile + " is unchanged and has not been replaced");
+        }
+    }
+
+    void written(OutputFormat format, File outputFile) {
+        metrics.written(format.type(), outputFile);
+        if (compress) {
+            metrics.written(compressedType(format), compressedFile(outputFile));
+        }
+    }
+}
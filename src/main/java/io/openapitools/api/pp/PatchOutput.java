@@ -0,0 +1,22 @@
+package io.openapitools.api.pp;
+
+/**
+ * Whether the changes made by the post processor are written as a JSON Patch.
+ */
+public enum PatchOutput {
+
+    /**
+     * Only the post processed specification is written.
+     */
+    NONE,
+
+    /**
+     * The patch is written next to the post processed specification.
+     */
+    ALONGSIDE,
+
+    /**
+     * Only the patch is written.
+     */
+    INSTEAD
+}
@@ -0,0 +1,424 @@
+package io.openapitools.api.pp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.DecimalNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ValueNode;
+import io.swagger.models.Operation;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.Parameter;
+
+/**
+ * The post processed path items of a streamed specification, kept from one build to the next. Every path item is
+ * identified by a fingerprint of its key, its content in the input and the configuration, thus a path item having the
+ * same fingerprint as in the previous build is written as it was then instead of being processed and serialized again.
+ * The path items are kept as the JSON written to the output together with the shared components they refer to.
+ * <p>
+ * The JSON of the path items is read from the file of the previous build when reused and appended to the file of this
+ * build as the input is streamed, only the index of the path items, i.e. their keys, fingerprints, shared components
+ * and positions in the files, is held in memory. The file starts with the version, followed by the JSON of the path
+ * items and the index, and ends with the position of the index.
+ * <p>
+ * Path items are processed one at a time by the stream, which is why the fragments are not safe for concurrent use.
+ */
+final class PathFragments implements ProcessingListener, Closeable {
+
+    private static final int VERSION = 2;
+    private static final int TRAILER = Long.BYTES;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectMapper READER = new ObjectMapper()
+        .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+        .setNodeFactory(new WrittenNumbers());
+
+    private final File file;
+    private final byte[] configuration;
+    private final FileChannel previousData;
+    private final Map<String, Fragment> previous;
+    private final Map<String, Fragment> current = new LinkedHashMap<>();
+    private final Set<String> headers = new TreeSet<>();
+    private final Set<String> codes = new TreeSet<>();
+    private Path temporary;
+    private FileChannel data;
+    private int reused;
+
+    private PathFragments(File file, String configuration, FileChannel previousData, Map<String, Fragment> previous) {
+        this.file = file;
+        this.configuration = configuration.getBytes(StandardCharsets.UTF_8);
+        this.previousData = previousData;
+        this.previous = previous;
+    }
+
+    /**
+     * Reads the index of the path items of the previous build from the file, which is kept open to read the JSON of
+     * the path items reused. An absent file or a file of another version gives no path items.
+     */
+    static PathFragments read(File file, String configuration) throws IOException {
+        if (!file.isFile()) {
+            return empty(file, configuration);
+        }
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < Integer.BYTES + TRAILER || readInt(channel, 0) != VERSION) {
+                channel.close();
+                return empty(file, configuration);
+            }
+            long index = readLong(channel, size - TRAILER);
+            if (index < Integer.BYTES || index > size - TRAILER) {
+                throw new IOException("The index of " + file + " is at " + index + " outside of the file");
+            }
+            Map<String, Fragment> previous = new HashMap<>();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                Channels.newInputStream(channel.position(index))));
+            for (int count = in.readInt(); count > 0; count--) {
+                String key = in.readUTF();
+                Fragment fragment = Fragment.read(in, channel);
+                if (fragment.offset < Integer.BYTES || fragment.offset + fragment.length > index) {
+                    throw new IOException("The path item " + key + " of " + file + " is outside of the path items");
+                }
+                previous.put(key, fragment);
+            }
+            return new PathFragments(file, configuration, channel, previous);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * No path items, e.g. when those of the previous build could not be read.
+     */
+    static PathFragments empty(File file, String configuration) {
+        return new PathFragments(file, configuration, null, Collections.emptyMap());
+    }
+
+    /**
+     * Writes the index of the path items of this build after their JSON and replaces the file of the previous build,
+     * path items no longer in the specification are left out.
+     */
+    void write() throws IOException {
+        FileChannel channel = data();
+        long index = channel.size();
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+            Channels.newOutputStream(channel.position(index))));
+        out.writeInt(current.size());
+        for (Map.Entry<String, Fragment> fragment : current.entrySet()) {
+            out.writeUTF(fragment.getKey());
+            fragment.getValue().write(out);
+        }
+        out.writeLong(index);
+        out.flush();
+        channel.close();
+        if (null != previousData) {
+            previousData.close();
+        }
+        try {
+            Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        temporary = null;
+    }
+
+    /**
+     * Closes the files, the path items of this build are discarded unless they have been written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (null != data) {
+                data.close();
+            }
+            if (null != previousData) {
+                previousData.close();
+            }
+        } finally {
+            if (null != temporary) {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    /**
+     * The fingerprint of a path item in the input.
+     */
+    byte[] fingerprint(String key, JsonNode item) throws IOException {
+        MessageDigest digest = BuildState.sha256();
+        digest.update(configuration);
+        digest.update((byte) 0);
+        digest.update(key.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(MAPPER.writeValueAsBytes(item));
+        return digest.digest();
+    }
+
+    /**
+     * The JSON of the post processed path item if it has the same fingerprint as when it was kept, otherwise null. The
+     * shared components referred to by a reused path item are registered with the components unless they are null.
+     */
+    byte[] reuse(String key, byte[] fingerprint, SharedComponents components) throws IOException {
+        Fragment fragment = current.get(key);
+        byte[] json;
+        if (null == fragment) {
+            fragment = previous.get(key);
+            if (null == fragment || !Arrays.equals(fingerprint, fragment.fingerprint)) {
+                return null;
+            }
+            json = fragment.json();
+            current.put(key, new Fragment(fingerprint, fragment.headers, fragment.codes, data(), append(json),
+                json.length));
+            reused++;
+        } else if (!Arrays.equals(fingerprint, fragment.fingerprint)) {
+            return null;
+        } else {
+            json = fragment.json();
+        }
+        if (null != components) {
+            components.referenced(fragment.headers, fragment.codes);
+        }
+        return json;
+    }
+
+    /**
+     * Keeps the post processed path item together with the shared components referred to while it was processed.
+     */
+    byte[] keep(String key, byte[] fingerprint, JsonNode item) throws IOException {
+        byte[] json = MAPPER.writeValueAsBytes(item);
+        current.put(key, new Fragment(fingerprint, new ArrayList<>(headers), new ArrayList<>(codes), data(),
+            append(json), json.length));
+        headers.clear();
+        codes.clear();
+        return json;
+    }
+
+    /**
+     * Reads the JSON of a path item into the tree written by the output formats.
+     */
+    static JsonNode tree(byte[] json) throws IOException {
+        return READER.readTree(json);
+    }
+
+    /**
+     * The number of path items reused from the previous build.
+     */
+    int reused() {
+        return reused;
+    }
+
+    /**
+     * The number of path items kept for the next build.
+     */
+    int kept() {
+        return current.size();
+    }
+
+    /**
+     * The file the path items of this build are written to, which starts with the version.
+     */
+    private FileChannel data() throws IOException {
+        if (null == data) {
+            temporary = File.createTempFile("." + file.getName(), ".tmp", file.getAbsoluteFile().getParentFile())
+                .toPath();
+            data = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer version = ByteBuffer.allocate(Integer.BYTES).putInt(VERSION);
+            version.flip();
+            writeFully(data, version, 0);
+        }
+        return data;
+    }
+
+    /**
+     * Appends the JSON of a path item to the file of this build, returning the position it is written at.
+     */
+    private long append(byte[] json) throws IOException {
+        FileChannel channel = data();
+        long offset = channel.size();
+        writeFully(channel, ByteBuffer.wrap(json), offset);
+        return offset;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long at = position;
+        while (buffer.hasRemaining()) {
+            at += channel.write(buffer, at);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int length, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        long at = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, at);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of path items at " + at);
+            }
+            at += read;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static int readInt(FileChannel channel, long position) throws IOException {
+        return readFully(channel, Integer.BYTES, position).getInt();
+    }
+
+    private static long readLong(FileChannel channel, long position) throws IOException {
+        return readFully(channel, Long.BYTES, position).getLong();
+    }
+
+    @Override
+    public void responseAdded(Operation operation, String code, Response response) {
+        referenced(response);
+    }
+
+    @Override
+    public void responseComplemented(Operation operation, String code, Response response) {
+        referenced(response);
+    }
+
+    @Override
+    public void parameterAdded(Operation operation, Parameter parameter) {
+        referenced(parameter);
+    }
+
+    @Override
+    public void parameterComplemented(Operation operation, Parameter parameter) {
+        referenced(parameter);
+    }
+
+    private void referenced(Response response) {
+        String code = Templates.referencedCode(response);
+        if (null != code) {
+            codes.add(code);
+        }
+    }
+
+    private void referenced(Parameter parameter) {
+        String header = Templates.referencedHeader(parameter);
+        if (null != header) {
+            headers.add(header);
+        }
+    }
+
+    /**
+     * A post processed path item, whose JSON is at a position in the file of either the previous or this build.
+     */
+    private static final class Fragment {
+
+        private final byte[] fingerprint;
+        private final List<String> headers;
+        private final List<String> codes;
+        private final FileChannel data;
+        private final long offset;
+        private final int length;
+
+        private Fragment(byte[] fingerprint, List<String> headers, List<String> codes, FileChannel data, long offset,
+                         int length) {
+            this.fingerprint = fingerprint;
+            this.headers = headers;
+            this.codes = codes;
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        static Fragment read(DataInputStream in, FileChannel data) throws IOException {
+            byte[] fingerprint = new byte[in.readUnsignedByte()];
+            in.readFully(fingerprint);
+            List<String> headers = readStrings(in);
+            List<String> codes = readStrings(in);
+            long offset = in.readLong();
+            int length = in.readInt();
+            return new Fragment(fingerprint, headers, codes, data, offset, length);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeByte(fingerprint.length);
+            out.write(fingerprint);
+            writeStrings(out, headers);
+            writeStrings(out, codes);
+            out.writeLong(offset);
+            out.writeInt(length);
+        }
+
+        byte[] json() throws IOException {
+            return readFully(data, length, offset).array();
+        }
+
+        private static List<String> readStrings(DataInputStream in) throws IOException {
+            int count = in.readUnsignedShort();
+            if (count == 0) {
+                return Collections.emptyList();
+            }
+            List<String> strings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                strings.add(in.readUTF());
+            }
+            return strings;
+        }
+
+        private static void writeStrings(DataOutputStream out, Collection<String> strings) throws IOException {
+            out.writeShort(strings.size());
+            for (String string : strings) {
+                out.writeUTF(string);
+            }
+        }
+    }
+
+    /**
+     * Reads floating point numbers as the kind of number they were written from, as the post processed trees hold both
+     * doubles and big decimals, e.g. 10.0 and 1E+1, which are written differently by the output formats.
+     */
+    private static final class WrittenNumbers extends JsonNodeFactory {
+
+        private static final long serialVersionUID = 1L;
+
+        private WrittenNumbers() {
+            super(true);
+        }
+
+        @Override
+        public ValueNode numberNode(BigDecimal value) {
+            double number = value.doubleValue();
+            if (Double.isInfinite(number)) {
+                return DecimalNode.valueOf(value);
+            }
+            BigDecimal written = new BigDecimal(Double.toString(number));
+            return written.scale() == value.scale() && written.unscaledValue().equals(value.unscaledValue())
+                ? DoubleNode.valueOf(number) : DecimalNode.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.openapitools.api.pp;
+
+import java.util.List;
+
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+
+/**
+ * Applies the headers and responses to the operations of a single path item.
+ */
+final class PathProcessor {
+
+    private PathProcessor() {
+        // intentionally empty
+    }
+
+    static void process(String key, Path path, Responses.Plan plan) {
+        process(key, path, plan, OperationMatcher.ALL);
+    }
+
+    /**
+     * The verb specific responses are added to all operations of the path after the common responses and standard
+     * headers have been added to the first operation, which gives the same order as processing each operation in turn.
+     * Only the operations selected by the matcher are processed, and a path which is not selected is left untouched.
+     */
+    static void process(String key, Path path, Responses.Plan plan, OperationMatcher matcher) {
+        if (!matcher.matches(key)) {
+            return;
+        }
+        plan.listener().pathStarted(key, path);
+        List<Operation> operations = path.getOperations();
+        boolean first = true;
+        for (Operation operation : operations) {
+            if (!matcher.matches(operation)) {
+                continue;
+            }
+            plan.applyCommon(operation);
+            Headers.addStandardParameters(operation, plan.listener(), plan.shared());
+            if (first) {
+                plan.applyVerbSpecific(path, matcher::matches);
+                first = false;
+            }
+        }
+        plan.listener().pathProcessed(path);
+    }
+}
@@ -0,0 +1,132 @@
+package io.openapitools.api.pp;
+
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.Parameter;
+
+/**
+ * Notified of the changes made to a specification while it is post processed. Paths may be processed concurrently, thus
+ * implementations must be thread safe.
+ */
+public interface ProcessingListener {
+
+    /**
+     * A listener ignoring all changes.
+     */
+    ProcessingListener NONE = new ProcessingListener() {
+    };
+
+    /**
+     * Notifies every listener in turn, e.g. to collect metrics and record the changes at once.
+     */
+    static ProcessingListener of(ProcessingListener... listeners) {
+        return new Composite(listeners);
+    }
+
+    /**
+     * The path item with the key is about to be processed.
+     */
+    default void pathStarted(String key, Path path) {
+    }
+
+    /**
+     * All operations of the path have been processed.
+     */
+    default void pathProcessed(Path path) {
+    }
+
+    /**
+     * An absent response has been added to the operation.
+     */
+    default void responseAdded(Operation operation, String code, Response response) {
+    }
+
+    /**
+     * An existing response of the operation has been replaced by a copy complemented with the standard headers, or by a
+     * reference to the standard response.
+     */
+    default void responseComplemented(Operation operation, String code, Response response) {
+    }
+
+    /**
+     * An absent header parameter has been added to the operation.
+     */
+    default void parameterAdded(Operation operation, Parameter parameter) {
+    }
+
+    /**
+     * An existing header parameter of the operation has been replaced by a complemented copy, or by a reference to the
+     * standard header.
+     */
+    default void parameterComplemented(Operation operation, Parameter parameter) {
+    }
+
+    /**
+     * A shared component has been added to a global section of the specification, e.g. "responses", which did not exist
+     * before if the section was created.
+     */
+    default void componentAdded(String section, String name, Object component, boolean sectionCreated) {
+    }
+
+    /**
+     * Forwards every notification to all the listeners in the given order.
+     */
+    final class Composite implements ProcessingListener {
+
+        private final ProcessingListener[] listeners;
+
+        private Composite(ProcessingListener... listeners) {
+            this.listeners = listeners.clone();
+        }
+
+        @Override
+        public void pathStarted(String key, Path path) {
+            for (ProcessingListener listener : listeners) {
+                listener.pathStarted(key, path);
+            }
+        }
+
+        @Override
+        public void pathProcessed(Path path) {
+            for (ProcessingListener listener : listeners) {
+                listener.pathProcessed(path);
+            }
+        }
+
+        @Override
+        public void responseAdded(Operation operation, String code, Response response) {
+            for (ProcessingListener listener : listeners) {
+                listener.responseAdded(operation, code, response);
+            }
+        }
+
+        @Override
+        public void responseComplemented(Operation operation, String code, Response response) {
+            for (ProcessingListener listener : listeners) {
+                listener.responseComplemented(operation, code, response);
+            }
+        }
+
+        @Override
+        public void parameterAdded(Operation operation, Parameter parameter) {
+            for (ProcessingListener listener : listeners) {
+                listener.parameterAdded(operation, parameter);
+            }
+        }
+
+        @Override
+        public void parameterComplemented(Operation operation, Parameter parameter) {
+            for (ProcessingListener listener : listeners) {
+                listener.parameterComplemented(operation, parameter);
+            }
+        }
+
+        @Override
+        public void componentAdded(String section, String name, Object component, boolean sectionCreated) {
+            for (ProcessingListener listener : listeners) {
+                listener.componentAdded(section, name, component, sectionCreated);
+            }
+        }
+    }
+}
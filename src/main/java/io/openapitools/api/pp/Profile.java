@@ -0,0 +1,43 @@
+package io.openapitools.api.pp;
+
+import java.util.Set;
+
+/**
+ * A named variant of the post processed specification, selecting the responses by packages or codes the same way as the
+ * plugin configuration does. The outputs of a profile are named and classified after it, e.g. "minimal".
+ */
+public class Profile {
+
+    private String name;
+    private Set<String> packages;
+    private Set<String> codes;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Set<String> getPackages() {
+        return packages;
+    }
+
+    public void setPackages(Set<String> packages) {
+        this.packages = packages;
+    }
+
+    public Set<String> getCodes() {
+        return codes;
+    }
+
+    public void setCodes(Set<String> codes) {
+        this.codes = codes;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,116 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.swagger.models.Swagger;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * Post processes the input once for every profile, parsing it only once. Each profile transforms and writes its own copy
+ * of the specification, which shares everything left unchanged by post processing with the parsed specification, thus
+ * the profiles are processed concurrently on a pool of threads. When streaming every profile streams the input itself.
+ * Profiles which are up to date are skipped and failures are reported once every profile is attempted.
+ */
+final class Profiles {
+
+    private final APIPostProcessorMojo mojo;
+    private final List<Profile> profiles;
+    private final Outputs outputs;
+    private final Streaming streaming;
+    private final String outputFilename;
+    private final String classifier;
+    private final int threads;
+    private final boolean incremental;
+
+    /**
+     * Profiles streaming the input unless streaming is null, whose outputs are named and classified after the output
+     * filename and the classifier followed by "-" and the name of the profile.
+     */
+    Profiles(APIPostProcessorMojo mojo, List<Profile> profiles, Outputs outputs, Streaming streaming,
+             String outputFilename, String classifier, int threads, boolean incremental) {
+        this.mojo = mojo;
+        this.profiles = profiles;
+        this.outputs = outputs;
+        this.streaming = streaming;
+        this.outputFilename = outputFilename;
+        this.classifier = classifier;
+        this.threads = threads;
+        this.incremental = incremental;
+    }
+
+    /**
+     * Post processes the input specification, which is either the file itself or an entry of the file when the input is
+     * read from an artifact. The file is what the build state records.
+     */
+    void execute(Path input, File file) throws MojoExecutionException, MojoFailureException {
+        Map<String, Set<String>> pending = new LinkedHashMap<>();
+        Map<String, String> configurations = new HashMap<>();
+        for (Profile profile : profiles) {
+            if (null == profile.getName() || profile.getName().isEmpty() || configurations.containsKey(profile.getName())) {
+                throw new MojoFailureException("Every profile must have a unique name, it was " + profile.getName());
+            }
+            Set<String> profileCodes = mojo.resolveCodes(profile.getPackages(), profile.getCodes());
+            String configuration = mojo.configuration(profileCodes);
+            configurations.put(profile.getName(), configuration);
+            String outputName = outputName(profile.getName());
+            if (incremental && mojo.isUpToDate(file, outputName, configuration)) {
+                mojo.getLog().info("Post processed specification " + outputName + " is up to date with " + file);
+            } else {
+                pending.put(profile.getName(), profileCodes);
+            }
+        }
+
+        Jobs jobs = new Jobs();
+        if (!pending.isEmpty()) {
+            Swagger parsed = null != streaming ? null : mojo.parse(input);
+            ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, pending.size())));
+            try {
+                for (Map.Entry<String, Set<String>> profile : pending.entrySet()) {
+                    String outputName = outputName(profile.getKey());
+                    String configuration = configurations.get(profile.getKey());
+                    jobs.add(profile.getKey(), CompletableFuture.supplyAsync(Stage.unchecked(() -> {
+                        JsonPatch changes = outputs.recorder();
+                        if (null != streaming) {
+                            streaming.stream(input, outputName, profile.getValue(), configuration, changes);
+                        } else {
+                            Swagger api = SpecificationCache.copy(parsed);
+                            mojo.ApplySpecificHeadersAndResponses(api, profile.getValue(), changes);
+                            if (outputs.writesSpecification()) {
+                                outputs.write(api, outputName, false);
+                            }
+                        }
+                        outputs.writePatch(changes, outputName);
+                        mojo.metrics().specificationProcessed();
+                        mojo.recordState(file, outputName, configuration);
+                        return null;
+                    }), workers));
+                }
+                jobs.awaitAll();
+            } finally {
+                workers.shutdown();
+            }
+        }
+
+        for (Profile profile : profiles) {
+            if (!jobs.failed(profile.getName())) {
+                mojo.attach(outputName(profile.getName()), classifier + "-" + profile.getName());
+            }
+        }
+        mojo.report();
+        jobs.check("profiles");
+    }
+
+    private String outputName(String profile) {
+        return outputFilename + "-" + profile;
+    }
+}
@@ -1,16 +1,24 @@
 package io.openapitools.api.pp;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import io.swagger.models.Operation;
 import io.swagger.models.Path;
+import io.swagger.models.RefResponse;
 import io.swagger.models.Response;
 import io.swagger.models.properties.Property;
-import io.swagger.models.properties.StringProperty;
 
 /**
- * Adds response documentation to an operation in an Open API manner
+ * Adds response documentation to an operation in an Open API manner. Absent responses are added as the shared
+ * templates from {@link Templates}. Responses which already exist in the specification are copied before being
+ * complemented, thus operations can be processed concurrently.
  */
 public final class Responses {
     
@@ -18,465 +26,226 @@ public final class Responses {
         // intentionally empty
     }
 
-    
-    public static void addResponseCodes(Operation operation, Set codes ) {
-        if (codes.contains("200")) addOKResponse200(operation);
-        if (codes.contains("400")) addBadRequestResponse400(operation);
-        if (codes.contains("401")) addNotAuthorizedResponse401(operation);
-        if (codes.contains("403")) addForbiddenResponse403(operation);
-        if (codes.contains("404")) addNotFoundResponse404(operation);
-        if (codes.contains("406")) addNotAcceptableResponse406(operation);
-        if (codes.contains("409")) addConflictResponse409(operation);
-        if (codes.contains("410")) addGoneResponse410(operation);
-        if (codes.contains("412")) addPreconditionFailedResponse412(operation);
-        if (codes.contains("415")) addUnsupportedContentTypeResponse415(operation);
-        if (codes.contains("429")) addClientTooBusyResponse429(operation);
-        if (codes.contains("500")) addServerErrorResponse500(operation);
-        if (codes.contains("503")) addServerBusyResponse503(operation);
-        if (codes.contains("505")) addUnsupportedHTTPVersionResponse505(operation);
-    }
-
+    private static final String[] COMMON_CODES = {"200", "400", "401", "403", "404", "406", "409", "410", "412", "415",
+        "429", "500", "503", "505"};
+    private static final String[] GET_CODES = {"202", "203", "301", "304", "307", "404", "410", "501"};
+    private static final String[] POST_CODES = {"201", "202", "301", "307", "410", "412", "415", "429", "500", "501",
+        "503", "505"};
+    private static final String[] PUT_CODES = POST_CODES;
+    private static final String[] PATCH_CODES = {"422"};
+    private static final String NO_CONTENT = "204";
+
+    /**
+     * The plan most recently compiled for the codes given to {@link #addResponseCodes} and
+     * {@link #addVerbSpecificHeaders}, which are normally the same for all operations.
+     */
+    private static volatile Plan recent;
+
+    /**
+     * Adds the responses of the codes to the operation. The responses added and their headers are shared by every
+     * operation and fail when they are changed, copy a response before changing it.
+     */
+    public static void addResponseCodes(Operation operation, Set<String> codes) {
+        plan(codes).applyCommon(operation);
+    }
+
+    /**
+     * Adds the responses specific to the verbs of the operations of the path, which like those of
+     * {@link #addResponseCodes} are shared instances.
+     */
     public static void addVerbSpecificHeaders(Path p, Set<String> codes) { 
-        if (null != p.getGet()) addGetResponses(p.getGet(), codes);
-        if (null != p.getPut()) addPutResponses(p.getPut(), codes);
-        if (null != p.getPost()) addPostResponses(p.getPost(), codes);
-        if (null != p.getPatch()) addPatchResponses(p.getPatch(), codes);
-        if (null != p.getDelete()) addDeleteResponses(p.getDelete(), codes);
-    }
-   
-    private static void addGetResponses(Operation getOperation, Set<String> codes ) {
-        if (codes.contains("202")) addAcceptedResponse202(getOperation);
-        if (codes.contains("203")) addNonAuthoritativeInformationResponse203(getOperation);
-        if (codes.contains("301")) addPermanentlyMovedResponse301(getOperation);
-        if (codes.contains("304")) addUnmodifiedResponse304(getOperation);
-        if (codes.contains("307")) addTemporaryRedirectResponse307(getOperation);
-        if (codes.contains("404")) addNotFoundResponse404(getOperation);
-        if (codes.contains("410")) addGoneResponse410(getOperation);
-        if (codes.contains("501")) addNotImplementedResponse501(getOperation);
-    }
-    
-    private static void addPostResponses(Operation postOperation, Set<String> codes) {
-        if (codes.contains("201")) addCreatedResponse201(postOperation);
-        if (codes.contains("202")) addAcceptedResponse202(postOperation);
-        if (codes.contains("301")) addPermanentlyMovedResponse301(postOperation);
-        if (codes.contains("307")) addTemporaryRedirectResponse307(postOperation);
-        if (codes.contains("410")) addGoneResponse410(postOperation);
-        if (codes.contains("412")) addPreconditionFailedResponse412(postOperation);
-        if (codes.contains("415")) addUnsupportedContentTypeResponse415(postOperation);
-        if (codes.contains("429")) addClientTooBusyResponse429(postOperation);
-        if (codes.contains("500")) addServerErrorResponse500(postOperation);
-        if (codes.contains("501")) addNotImplementedResponse501(postOperation);
-        if (codes.contains("503")) addServerBusyResponse503(postOperation);
-        if (codes.contains("505")) addUnsupportedHTTPVersionResponse505(postOperation);
-    }
-
-    private static void addPutResponses(Operation putOperation, Set<String> codes) {
-        if (codes.contains("201")) addCreatedResponse201(putOperation);
-        if (codes.contains("202")) addAcceptedResponse202(putOperation);
-        if (codes.contains("301")) addPermanentlyMovedResponse301(putOperation);
-        if (codes.contains("307")) addTemporaryRedirectResponse307(putOperation);
-        if (codes.contains("410")) addGoneResponse410(putOperation);
-        if (codes.contains("412")) addPreconditionFailedResponse412(putOperation);
-        if (codes.contains("415")) addUnsupportedContentTypeResponse415(putOperation);
-        if (codes.contains("429")) addClientTooBusyResponse429(putOperation);
-        if (codes.contains("500")) addServerErrorResponse500(putOperation);
-        if (codes.contains("501")) addNotImplementedResponse501(putOperation);
-        if (codes.contains("503")) addServerBusyResponse503(putOperation);
-        if (codes.contains("505")) addUnsupportedHTTPVersionResponse505(putOperation);
-    }
-
-    private static void addDeleteResponses(Operation deleteOperation, Set<String> codes) {
-        if (codes.contains("204")) addNoContentResponse204(deleteOperation);
-    }
-
-    private static void addPatchResponses(Operation patchOperation, Set<String> codes) {
-        Headers.addPatchHeaders(patchOperation);
-         if (codes.contains("422")) addUnprocessableRequestResponse422(patchOperation);
-    }
-
-    private static void addOKResponse200(Operation operation) {
-        String key = "200";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("OK.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        addUsualResponseHeaders(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addCreatedResponse201(Operation operation) {
-        String key = "201";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Resource Created.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLocationResponseHeader(response);
-        addLogTokenResponseHeader(response);
-        addUsualResponseHeaders(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addAcceptedResponse202(Operation operation) {
-        String key = "202";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Request accepted for further processing.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLocationResponseHeader(response);
-        addRetryAfterResponseHeader(response);
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addNonAuthoritativeInformationResponse203(Operation operation) {
-        String key = "203";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Non Authoritative Information");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-
-    private static void addNoContentResponse204(Operation operation) {
-        String key = "204";
-        Map<String, Response> responses = operation.getResponses();
-        if (!responses.containsKey(key)) {
-            Response response = new Response();
-            response.description("Request accepted Nothing Returned.");
-            addLogTokenResponseHeader(response);
-            operation.addResponse(key, response);
-        }
-    }
-
-    private static void addPermanentlyMovedResponse301(Operation operation) {
-        String key = "301";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Resource has moved.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLocationResponseHeader(response);
-        addLogTokenResponseHeader(response);
-        addExpiresHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addUnmodifiedResponse304(Operation operation) {
-        String key = "304";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Not Modified - Resource was not updated");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-
-    }
-
-    private static void addTemporaryRedirectResponse307(Operation operation) {
-        String key = "307";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Temporary Redirect - Resource is available shortly else where");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLocationResponseHeader(response);
-        addLogTokenResponseHeader(response);
-        addExpiresHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addBadRequestResponse400(Operation operation) {
-        String key = "400";
-        Response response = new Response();
-        Map<String, Response> responses = operation.getResponses();
-        if (!responses.containsKey(key)) {
-            response.description("Bad Request - the contents of the request were semantically or syntactically wrong.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addNotAuthorizedResponse401(Operation operation) {
-        String key = "401";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Not Authorized for the resource.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addForbiddenResponse403(Operation operation) {
-        String key = "403";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Forbidden access to the resource.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addNotFoundResponse404(Operation operation) {
-        String key = "404";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Resource Not Found");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addNotAcceptableResponse406(Operation operation) {
-        String key = "406";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Not Acceptable - Possible mismatch between headers and content");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addConflictResponse409(Operation operation) {
-        String key = "409";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Conflict - state of resource may have changed.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addGoneResponse410(Operation operation) {
-        String key = "410";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Gone - resource is no longer available.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addPreconditionFailedResponse412(Operation operation) {
-        String key = "412";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Precondition Failed - result from state of headers.");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addUnsupportedContentTypeResponse415(Operation operation) {
-        String key = "415";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Content-Type not supported by Resource");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addUnprocessableRequestResponse422(Operation operation) {
-        String key = "422";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Unprocessable Request - illegal modification of resource");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addClientTooBusyResponse429(Operation operation) {
-        String key = "429";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("Too much load is added from the client side into the service and the client is requested " +
-                "to limit the number of requests - as the limits has been reached");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addRetryAfterResponseHeader(response);
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addServerErrorResponse500(Operation operation) {
-        String key = "500";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("The server experienced a currently unknown problem");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addNotImplementedResponse501(Operation operation) {
-        String key = "501";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("This method is currently not implemented");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addServerBusyResponse503(Operation operation) {
-        String key = "503";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("The service is unavailable");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        addRetryAfterResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addUnsupportedHTTPVersionResponse505(Operation operation) {
-        String key = "505";
-        Map<String, Response> responses = operation.getResponses();
-        Response response = new Response();
-        if (!responses.containsKey(key)) {
-            response.description("HTTP Version not supported");
-        } else {
-            response = operation.getResponses().get(key);
-        }
-        addLogTokenResponseHeader(response);
-        operation.addResponse(key, response);
-    }
-
-    private static void addLogTokenResponseHeader(Response response) {
-        if (notSet(response, "X-Log-Token")) {
-            setHeader(response, "X-Log-Token", "A Correlation ID for consumer use");
-        }
-    }
-
-    private static void addLocationResponseHeader(Response response) {
-        if (notSet(response, "Location")) {
-            setHeader(response, "Location", "The Location is used to state where resource can be found");
-        }
-    }
-
-    private static void addRetryAfterResponseHeader(Response response) {
-        if (notSet(response, "Retry-After")) {
-            setHeader(response, "Retry-After", "When can the resource be expected at the Location");
-        }
-    }
-
-    private static void addUsualResponseHeaders(Response response) {
-        if (notSet(response, "Content-Type")) {
-            setHeader(response, "Content-Type",
-                "The concrete content-type returned from service - save on client for future versioning of the particular endpoint");
-        }
-        if (notSet(response, "Cache-Control")) {
-            setHeader(response, "Cache-Control", "The consumer caching information");
-        }
-        if (notSet(response, "ETag")) {
-            setHeader(response, "ETag", "The entity tag");
-        }
-        addExpiresHeader(response);
-        if (notSet(response, "Last-Modified")) {
-            setHeader(response, "Last-Modified", "The information was changed at this time");
-        }
-        if (notSet(response, "Content-Encoding")) {
-            setHeader(response, "Content-Encoding", "The concrete content-encoding service");
+        plan(codes).applyVerbSpecific(p);
+    }
+
+    /**
+     * Compiles the codes into a plan, thus the configured codes are only looked up once instead of for every operation.
+     */
+    public static Plan compile(Set<?> codes) {
+        return compile(codes, ProcessingListener.NONE);
+    }
+
+    /**
+     * Compiles the codes into a plan notifying the listener of every change made when it is applied.
+     */
+    public static Plan compile(Set<?> codes, ProcessingListener listener) {
+        return compile(codes, listener, false);
+    }
+
+    /**
+     * Compiles the codes into a plan, which if shared adds references to the global definitions of the standard headers
+     * and responses instead of the headers and responses themselves.
+     */
+    public static Plan compile(Set<?> codes, ProcessingListener listener, boolean shared) {
+        List<Applier> patch = new ArrayList<>();
+        patch.add((operation, notify) -> Headers.addPatchHeaders(operation, notify, shared));
+        patch.addAll(Arrays.asList(appliers(codes, PATCH_CODES, shared)));
+        Applier[] delete = codes.contains(NO_CONTENT)
+            ? new Applier[] {(operation, notify) -> addResponseIfAbsent(operation, NO_CONTENT, notify, shared)}
+            : new Applier[0];
+        return new Plan(new HashSet<>(codes), listener, shared, appliers(codes, COMMON_CODES, shared),
+            appliers(codes, GET_CODES, shared), appliers(codes, PUT_CODES, shared), appliers(codes, POST_CODES, shared),
+            patch.toArray(new Applier[0]), delete);
+    }
+
+    private static Plan plan(Set<?> codes) {
+        Plan plan = recent;
+        if (null == plan || !plan.codes.equals(codes)) {
+            plan = compile(codes);
+            recent = plan;
+        }
+        return plan;
+    }
+
+    private static Applier[] appliers(Set<?> codes, String[] candidates, boolean shared) {
+        return Arrays.stream(candidates)
+            .filter(codes::contains)
+            .map(code -> (Applier) (operation, listener) -> addResponse(operation, code, listener, shared))
+            .toArray(Applier[]::new);
+    }
+
+    /**
+     * The responses to add for a given set of codes, compiled into an ordered list of appliers for all operations and
+     * for each of the verbs having specific responses. A plan is not changed after it has been compiled and may be used
+     * concurrently.
+     */
+    public static final class Plan {
+        private final Set<?> codes;
+        private final ProcessingListener listener;
+        private final boolean shared;
+        private final Applier[] common;
+        private final Applier[] get;
+        private final Applier[] put;
+        private final Applier[] post;
+        private final Applier[] patch;
+        private final Applier[] delete;
+
+        private Plan(Set<?> codes, ProcessingListener listener, boolean shared, Applier[] common, Applier[] get,
+                     Applier[] put, Applier[] post, Applier[] patch, Applier[] delete) {
+            this.codes = codes;
+            this.listener = listener;
+            this.shared = shared;
+            this.common = common;
+            this.get = get;
+            this.put = put;
+            this.post = post;
+            this.patch = patch;
+            this.delete = delete;
+        }
+
+        /**
+         * Adds the responses which are common to all operations. The responses added are shared instances, which fail
+         * when changed and must be copied first.
+         */
+        public void applyCommon(Operation operation) {
+            apply(common, operation, selected -> true);
+        }
+
+        /**
+         * Adds the verb specific responses to the operations of the path, as shared instances.
+         */
+        public void applyVerbSpecific(Path path) {
+            applyVerbSpecific(path, operation -> true);
+        }
+
+        /**
+         * Adds the verb specific responses to the selected operations of the path.
+         */
+        public void applyVerbSpecific(Path path, Predicate<Operation> selected) {
+            apply(get, path.getGet(), selected);
+            apply(put, path.getPut(), selected);
+            apply(post, path.getPost(), selected);
+            apply(patch, path.getPatch(), selected);
+            apply(delete, path.getDelete(), selected);
+        }
+
+        ProcessingListener listener() {
+            return listener;
+        }
+
+        boolean shared() {
+            return shared;
+        }
+
+        private void apply(Applier[] appliers, Operation operation, Predicate<Operation> selected) {
+            if (null == operation || !selected.test(operation)) {
+                return;
+            }
+            for (Applier applier : appliers) {
+                applier.apply(operation, listener);
+            }
+        }
+    }
+
+    /**
+     * Adds a single response, or set of headers, to an operation.
+     */
+    @FunctionalInterface
+    private interface Applier {
+        void apply(Operation operation, ProcessingListener listener);
+    }
+
+    /**
+     * Adds the shared response for the code, or a reference to it, or complements an existing response with the standard
+     * headers. A reference to the global standard response is complete as it is, and when shared an existing response
+     * which is the same as the standard response once complemented is replaced by a reference.
+     */
+    private static void addResponse(Operation operation, String code, ProcessingListener listener, boolean shared) {
+        Response template = Templates.response(code);
+        Response existing = null == operation.getResponses() ? null : operation.getResponses().get(code);
+        if (null == existing) {
+            Response added = shared ? Templates.responseReference(code) : template;
+            operation.addResponse(code, added);
+            listener.responseAdded(operation, code, added);
+            return;
+        }
+        if (null != Templates.referencedCode(existing)) {
+            return;
+        }
+        Response complemented = existing;
+        for (Map.Entry<String, Property> header : template.getHeaders().entrySet()) {
+            if (null == complemented.getHeaders() || !complemented.getHeaders().containsKey(header.getKey())) {
+                if (complemented == existing) {
+                    complemented = copy(existing);
+                }
+                complemented.addHeader(header.getKey(), header.getValue());
+            }
+        }
+        if (shared && Templates.isStandard(complemented, code)) {
+            complemented = Templates.responseReference(code);
+        }
+        if (complemented != existing) {
+            operation.addResponse(code, complemented);
+            listener.responseComplemented(operation, code, complemented);
+        }
+    }
+
+    /**
+     * Adds the shared response for the code, or a reference to it, unless the operation has the response. When shared an
+     * existing response which is the same as the standard response is replaced by a reference.
+     */
+    private static void addResponseIfAbsent(Operation operation, String code, ProcessingListener listener,
+                                            boolean shared) {
+        Response existing = null == operation.getResponses() ? null : operation.getResponses().get(code);
+        if (null == existing) {
+            Response added = shared ? Templates.responseReference(code) : Templates.response(code);
+            operation.addResponse(code, added);
+            listener.responseAdded(operation, code, added);
+        } else if (shared && null == Templates.referencedCode(existing) && Templates.isStandard(existing, code)) {
+            Response reference = Templates.responseReference(code);
+            operation.addResponse(code, reference);
+            listener.responseComplemented(operation, code, reference);
+        }
+    }
+
+    private static Response copy(Response response) {
+        Response copy = response instanceof RefResponse ? new RefResponse(((RefResponse) response).get$ref()) : new Response();
+        copy.setDescription(response.getDescription());
+        copy.setResponseSchema(response.getResponseSchema());
+        copy.setExamples(response.getExamples());
+        copy.setHeaders(null == response.getHeaders() ? new LinkedHashMap<>() : new LinkedHashMap<>(response.getHeaders()));
+        if (null != response.getVendorExtensions()) {
+            copy.setVendorExtensions(new LinkedHashMap<>(response.getVendorExtensions()));
         }
-        addLogTokenResponseHeader(response);
-        addRateLimiting(response);
+        return copy;
     }
-
-    private static void addExpiresHeader(Response response) {
-        if (notSet(response, "Expires")) {
-            setHeader(response, "Expires", "The information expiry time");
-        }
-    }
-
-    private static boolean notSet(Response response, String header) {
-        return response.getHeaders() == null || !response.getHeaders().containsKey(header);
-    }
-
-    private static void addRateLimiting(Response response) {
-        if (!response.getHeaders().containsKey("X-RateLimit-Limit")) {
-            setHeader(response, "X-RateLimit-Limit", "X-RateLimit-Limit: Request limit per minute");
-        }
-        if (!response.getHeaders().containsKey("X-RateLimit-Limit-24h")) {
-            setHeader(response, "X-RateLimit-Limit-24h", "X-RateLimit-Limit-24h: Request limit per 24h");
-        }
-        if (!response.getHeaders().containsKey("X-RateLimit-Remaining")) {
-            setHeader(response, "X-RateLimit-Remaining",
-                "X-RateLimit-Remaining: Requests left for the domain/resource for the 24h (locally determined)");
-        }
-        if (!response.getHeaders().containsKey("X-RateLimit-Reset")) {
-            setHeader(response, "X-RateLimit-Reset",
-                "X-RateLimit-Reset: The remaining window before the rate limit resets in UTC epoch seconds");
-        }
-    }
-
-    private static void setHeader(Response response, String name, String description) {
-        Property contentType = new StringProperty();
-        contentType.setName(name);
-        contentType.description(description);
-        response.addHeader(name, contentType);
-    }
-    
 }
@@ -0,0 +1,125 @@
+package io.openapitools.api.pp;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.Operation;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+
+/**
+ * Collects the standard headers and responses referenced by a shared plan while the paths are processed, and defines
+ * them once in the global "parameters" and "responses" sections afterwards. A global definition with the same name which
+ * is already present in the specification is kept.
+ */
+final class SharedComponents implements ProcessingListener {
+
+    static final String PARAMETERS = "parameters";
+    static final String RESPONSES = "responses";
+
+    private final Set<String> headers = new ConcurrentSkipListSet<>();
+    private final Set<String> codes = new ConcurrentSkipListSet<>();
+
+    @Override
+    public void responseAdded(Operation operation, String code, Response response) {
+        referenced(response);
+    }
+
+    @Override
+    public void responseComplemented(Operation operation, String code, Response response) {
+        referenced(response);
+    }
+
+    @Override
+    public void parameterAdded(Operation operation, Parameter parameter) {
+        referenced(parameter);
+    }
+
+    @Override
+    public void parameterComplemented(Operation operation, Parameter parameter) {
+        referenced(parameter);
+    }
+
+    /**
+     * Adds the headers and responses referred to by a path item which was not processed again.
+     */
+    void referenced(Collection<String> headers, Collection<String> codes) {
+        this.headers.addAll(headers);
+        this.codes.addAll(codes);
+    }
+
+    /**
+     * Defines the referenced headers and responses in the specification, notifying the listener of the ones added.
+     */
+    void register(Swagger api, ProcessingListener listener) {
+        api.setParameters(register(PARAMETERS, api.getParameters(), parameters(), listener));
+        api.setResponses(register(RESPONSES, api.getResponses(), responses(), listener));
+    }
+
+    /**
+     * Defines the referenced components in a global section written as a tree, returning the section which is null if
+     * it did not exist and nothing was referenced.
+     */
+    ObjectNode register(String section, ObjectNode existing, ProcessingListener listener) {
+        ObjectNode merged = existing;
+        for (Map.Entry<String, ?> component : (PARAMETERS.equals(section) ? parameters() : responses()).entrySet()) {
+            boolean created = null == merged;
+            if (created) {
+                merged = JsonNodeFactory.instance.objectNode();
+            } else if (merged.has(component.getKey())) {
+                continue;
+            }
+            merged.set(component.getKey(), OutputFormat.toTree(component.getValue()));
+            listener.componentAdded(section, component.getKey(), component.getValue(), created);
+        }
+        return merged;
+    }
+
+    private static <T> Map<String, T> register(String section, Map<String, T> existing, Map<String, T> components,
+                                               ProcessingListener listener) {
+        Map<String, T> merged = existing;
+        for (Map.Entry<String, T> component : components.entrySet()) {
+            boolean created = null == merged;
+            if (created) {
+                merged = new LinkedHashMap<>();
+            } else if (merged.containsKey(component.getKey())) {
+                continue;
+            }
+            merged.put(component.getKey(), component.getValue());
+            listener.componentAdded(section, component.getKey(), component.getValue(), created);
+        }
+        return merged;
+    }
+
+    private void referenced(Response response) {
+        String code = Templates.referencedCode(response);
+        if (null != code) {
+            codes.add(code);
+        }
+    }
+
+    private void referenced(Parameter parameter) {
+        String header = Templates.referencedHeader(parameter);
+        if (null != header) {
+            headers.add(header);
+        }
+    }
+
+    private Map<String, Parameter> parameters() {
+        Map<String, Parameter> parameters = new LinkedHashMap<>();
+        headers.forEach(header -> parameters.put(Templates.sharedName(header), Templates.requestHeader(header)));
+        return parameters;
+    }
+
+    private Map<String, Response> responses() {
+        Map<String, Response> responses = new LinkedHashMap<>();
+        codes.forEach(code -> responses.put(Templates.sharedName(code), Templates.response(code)));
+        return responses;
+    }
+}
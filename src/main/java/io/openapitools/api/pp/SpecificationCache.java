@@ -0,0 +1,209 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+/**
+ * Cache of parsed specifications shared by all executions of the plugin in the same Maven process, e.g. the modules of a
+ * reactor build or the builds run by the Maven daemon. It is only used when enabled. Entries are looked up by the
+ * input path, size and modification time, and the content hash is only calculated to confirm a match. The least recently
+ * used entries are evicted when there are more than {@value #MAX_ENTRIES} entries or their estimated size exceeds a
+ * quarter of the maximum heap. Specifications referring to other documents are not cached, as those are not tracked.
+ * <p>
+ * The cached specifications are never changed. Post processing only adds to the paths, operations and global sections
+ * and replaces the headers and responses it complements, thus every load returns a copy of those, sharing the rest.
+ */
+final class SpecificationCache {
+
+    private static final int MAX_ENTRIES = 16;
+
+    /**
+     * Estimated heap used by the parsed model per byte of input, which was measured as 3.3 to 4 bytes for JSON and YAML.
+     */
+    private static final int MODEL_BYTES_PER_INPUT_BYTE = 4;
+
+    private static final Map<String, Entry> ENTRIES = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true);
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static long bytes;
+
+    private SpecificationCache() {
+        // intentionally empty
+    }
+
+    /**
+     * Reads the specification, or copies it if cached, returning null if the content is not a Swagger specification.
+     */
+    static Swagger load(File input) throws IOException {
+        String path = input.getCanonicalPath();
+        BasicFileAttributes attributes = Files.readAttributes(input.toPath(), BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        Entry cached = get(path);
+        if (null != cached && cached.size == size && cached.modified == modified
+                && cached.hash.equals(BuildState.hash(input))) {
+            HITS.increment();
+            return copy(cached.api);
+        }
+        MISSES.increment();
+        MessageDigest digest = BuildState.sha256();
+        Collection<String> references = new ArrayList<>();
+        Swagger api = SpecificationLoader.load(input, digest, references);
+        if (null == api) {
+            return null;
+        }
+        if (references.isEmpty()) {
+            put(path, new Entry(api, size, modified, BuildState.hex(digest.digest())));
+        } else {
+            remove(path);
+        }
+        return copy(api);
+    }
+
+    /**
+     * The hits, misses and current size of the cache.
+     */
+    static synchronized String statistics() {
+        return "hits " + HITS.sum() + ", misses " + MISSES.sum() + ", " + ENTRIES.size() + " entries of an estimated "
+            + bytes + " bytes";
+    }
+
+    /**
+     * Removes every entry, e.g. for executions which must not see the specifications parsed by earlier ones.
+     */
+    static synchronized void clear() {
+        ENTRIES.clear();
+        bytes = 0;
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    private static synchronized Entry get(String path) {
+        return ENTRIES.get(path);
+    }
+
+    private static synchronized void remove(String path) {
+        Entry previous = ENTRIES.remove(path);
+        if (null != previous) {
+            bytes -= previous.estimatedBytes;
+        }
+    }
+
+    private static synchronized void put(String path, Entry entry) {
+        remove(path);
+        long limit = Runtime.getRuntime().maxMemory() / 4;
+        if (entry.estimatedBytes > limit) {
+            return;
+        }
+        ENTRIES.put(path, entry);
+        bytes += entry.estimatedBytes;
+        Iterator<Entry> eldest = ENTRIES.values().iterator();
+        while (ENTRIES.size() > MAX_ENTRIES || bytes > limit) {
+            bytes -= eldest.next().estimatedBytes;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Copies the parts of the specification changed by post processing, which are the global parameters and responses,
+     * the paths and their operations including the parameters and responses of those.
+     */
+    static Swagger copy(Swagger api) {
+        Swagger copy = new Swagger();
+        copy.setSwagger(api.getSwagger());
+        copy.setInfo(api.getInfo());
+        copy.setHost(api.getHost());
+        copy.setBasePath(api.getBasePath());
+        copy.setTags(api.getTags());
+        copy.setSchemes(api.getSchemes());
+        copy.setConsumes(api.getConsumes());
+        copy.setProduces(api.getProduces());
+        copy.setSecurity(api.getSecurity());
+        copy.setSecurityDefinitions(api.getSecurityDefinitions());
+        copy.setDefinitions(api.getDefinitions());
+        copy.setExternalDocs(api.getExternalDocs());
+        copy.setVendorExtensions(api.getVendorExtensions());
+        copy.setParameters(copy(api.getParameters()));
+        copy.setResponses(copy(api.getResponses()));
+        Map<String, Path> paths = copy(api.getPaths());
+        if (null != paths) {
+            paths.replaceAll((key, path) -> copy(path));
+            copy.setPaths(paths);
+        }
+        return copy;
+    }
+
+    private static Path copy(Path path) {
+        Path copy = new Path();
+        for (Map.Entry<HttpMethod, Operation> operation : path.getOperationMap().entrySet()) {
+            copy.set(operation.getKey().name().toLowerCase(), copy(operation.getValue()));
+        }
+        copy.setParameters(null == path.getParameters() ? null : new ArrayList<>(path.getParameters()));
+        copy.setVendorExtensions(path.getVendorExtensions());
+        return copy;
+    }
+
+    private static Operation copy(Operation operation) {
+        Operation copy = new Operation();
+        copy.setTags(operation.getTags());
+        copy.setSummary(operation.getSummary());
+        copy.setDescription(operation.getDescription());
+        copy.setOperationId(operation.getOperationId());
+        copy.setSchemes(operation.getSchemes());
+        copy.setConsumes(operation.getConsumes());
+        copy.setProduces(operation.getProduces());
+        copy.setParameters(null == operation.getParameters() ? null : new ArrayList<>(operation.getParameters()));
+        copy.setResponses(copy(operation.getResponses()));
+        copy.setSecurity(operation.getSecurity());
+        copy.setExternalDocs(operation.getExternalDocs());
+        copy.setDeprecated(operation.isDeprecated());
+        copy.setVendorExtensions(operation.getVendorExtensions());
+        return copy;
+    }
+
+    /**
+     * Copies a map keeping the order of its entries, which for the parsed responses is sorted by code.
+     */
+    private static <V> Map<String, V> copy(Map<String, V> map) {
+        if (null == map) {
+            return null;
+        }
+        return map instanceof SortedMap ? new TreeMap<>((SortedMap<String, V>) map) : new LinkedHashMap<>(map);
+    }
+
+    /**
+     * A parsed specification together with the size, modification time and content hash of the input it was read from.
+     */
+    private static final class Entry {
+
+        private final Swagger api;
+        private final long size;
+        private final long modified;
+        private final String hash;
+        private final long estimatedBytes;
+
+        private Entry(Swagger api, long size, long modified, String hash) {
+            this.api = api;
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+            this.estimatedBytes = size * MODEL_BYTES_PER_INPUT_BYTE;
+        }
+    }
+}
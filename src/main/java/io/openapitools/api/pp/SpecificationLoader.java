@@ -0,0 +1,243 @@
+package io.openapitools.api.pp;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerResolver;
+import io.swagger.parser.util.SwaggerDeserializer;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+
+/**
+ * Locates and reads input specifications. The file is memory mapped and parsed into a tree straight from the mapped
+ * buffer, which is then bound to the Swagger model, thus the input is read from disk once without intermediate copies.
+ */
+final class SpecificationLoader {
+
+    /**
+     * Supported extensions in order of preference when more than one is present.
+     */
+    private static final List<String> EXTENSIONS = Arrays.asList(".json", ".yaml", ".yml");
+    private static final String SWAGGER = "swagger";
+    private static final String REF = "$ref";
+    private static final int SNIFF_LIMIT = 1024;
+
+    private SpecificationLoader() {
+        // intentionally empty
+    }
+
+    /**
+     * Finds the specification with the filename and one of the supported extensions by listing the directory once. If
+     * none is found the file without extension is returned.
+     */
+    static File resolve(File directory, String filename) throws IOException {
+        File found = null;
+        int preference = EXTENSIONS.size();
+        if (directory.isDirectory()) {
+            DirectoryStream.Filter<Path> candidates = entry -> {
+                String name = entry.getFileName().toString();
+                return name.startsWith(filename) && EXTENSIONS.contains(name.substring(filename.length()));
+            };
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory.toPath(), candidates)) {
+                for (Path entry : entries) {
+                    int rank = EXTENSIONS.indexOf(entry.getFileName().toString().substring(filename.length()));
+                    if (rank < preference && Files.isRegularFile(entry)) {
+                        found = entry.toFile();
+                        preference = rank;
+                    }
+                }
+            }
+        }
+        return null == found ? new File(directory, filename) : found;
+    }
+
+    /**
+     * Reads the specification, returning null if the content is not a Swagger specification. The tree is bound and
+     * references are resolved relative to the input the same way as the Swagger parser does when reading the file itself.
+     */
+    static Swagger load(File input) throws IOException {
+        return load(input, null, null);
+    }
+
+    /**
+     * Reads the specification, updating the digest with the content read unless it is null and adding the references
+     * to other documents, which are the values of "$ref" not starting with "#", unless the references are null.
+     */
+    static Swagger load(File input, MessageDigest digest, Collection<String> references) throws IOException {
+        JsonNode tree = readTree(input, digest);
+        if (null == tree || null == tree.get(SWAGGER)) {
+            return null;
+        }
+        if (null != references) {
+            references.addAll(references(tree));
+        }
+        Swagger swagger = new SwaggerDeserializer().deserialize(tree).getSwagger();
+        return null == swagger ? null : new SwaggerResolver(swagger, null, input.getPath()).resolve();
+    }
+
+    /**
+     * Reads the specification which is an entry of an archive, e.g. a jar opened as a zip file system. The entry is
+     * inflated while it is parsed, thus it is neither extracted nor held in memory as a whole. The Swagger parser only
+     * reads relative references from the default file system, thus the entries referenced by the specification, if any,
+     * are extracted to a temporary directory with the same layout as the archive while the references are resolved.
+     */
+    static Swagger load(Path entry) throws IOException {
+        JsonNode tree = readTree(entry);
+        if (null == tree || null == tree.get(SWAGGER)) {
+            return null;
+        }
+        Swagger swagger = new SwaggerDeserializer().deserialize(tree).getSwagger();
+        if (null == swagger) {
+            return null;
+        }
+        Collection<String> references = references(tree);
+        if (references.isEmpty()) {
+            return new SwaggerResolver(swagger, null, entry.toUri().toString()).resolve();
+        }
+        Path directory = Files.createTempDirectory("api-pp-references");
+        try {
+            extract(entry, references, directory, new HashSet<>(Collections.singleton(entry.normalize())));
+            return new SwaggerResolver(swagger, null, extracted(directory, entry).toString()).resolve();
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Extracts the entries referenced from the entry, and those referenced from them in turn, to the directory. Remote
+     * references and references outside the archive are left for the Swagger parser to read or report.
+     */
+    private static void extract(Path from, Collection<String> references, Path directory, Set<Path> extracted)
+            throws IOException {
+        for (String reference : references) {
+            String location = reference.contains("#") ? reference.substring(0, reference.indexOf('#')) : reference;
+            if (location.isEmpty() || location.contains(":")) {
+                continue;
+            }
+            Path referenced = from.resolveSibling(location).normalize();
+            Path target = extracted(directory, referenced);
+            if (target.startsWith(directory) && Files.isRegularFile(referenced) && extracted.add(referenced)) {
+                Files.createDirectories(target.getParent());
+                Files.copy(referenced, target);
+                Collection<String> nested = new ArrayList<>();
+                try (InputStream in = Files.newInputStream(target)) {
+                    references(target.getFileName().toString(), in, nested);
+                }
+                extract(referenced, nested, directory, extracted);
+            }
+        }
+    }
+
+    private static Path extracted(Path directory, Path entry) {
+        Path relative = entry.isAbsolute() ? entry.getRoot().relativize(entry) : entry;
+        return directory.resolve(relative.toString()).normalize();
+    }
+
+    static JsonNode readTree(File input) throws IOException {
+        return readTree(input, null);
+    }
+
+    private static JsonNode readTree(File input, MessageDigest digest) throws IOException {
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (null != digest) {
+                digest.update(buffer.duplicate());
+            }
+            ObjectMapper mapper = isYaml(input.getName(), buffer.duplicate()) ? Yaml.mapper() : Json.mapper();
+            try (InputStream in = new ByteBufferBackedInputStream(buffer)) {
+                return mapper.readTree(in);
+            }
+        }
+    }
+
+    static JsonNode readTree(Path entry) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(entry))) {
+            return mapper(entry.getFileName().toString(), in).readTree(in);
+        }
+    }
+
+    private static Collection<String> references(JsonNode tree) {
+        Collection<String> references = new ArrayList<>();
+        for (JsonNode reference : tree.findValues(REF)) {
+            if (reference.isTextual() && !reference.asText().startsWith("#")) {
+                references.add(reference.asText());
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Adds the references of the specification read from the stream to other documents, which are the values of "$ref"
+     * not starting with "#". The stream is read to its end as a stream of tokens, without building a tree.
+     */
+    static void references(String name, InputStream in, Collection<String> references) throws IOException {
+        InputStream buffered = new BufferedInputStream(in);
+        try (JsonParser parser = mapper(name, buffered).getFactory().createParser(buffered)) {
+            for (JsonToken token = parser.nextToken(); null != token; token = parser.nextToken()) {
+                if (token == JsonToken.FIELD_NAME && REF.equals(parser.getCurrentName())
+                        && parser.nextToken() == JsonToken.VALUE_STRING && !parser.getText().startsWith("#")) {
+                    references.add(parser.getText());
+                }
+            }
+        }
+    }
+
+    /**
+     * The mapper for the format of the buffered stream, which is reset to where it was after peeking at its content.
+     */
+    private static ObjectMapper mapper(String name, InputStream buffered) throws IOException {
+        buffered.mark(SNIFF_LIMIT);
+        byte[] start = new byte[SNIFF_LIMIT];
+        int read = buffered.read(start);
+        buffered.reset();
+        return isYaml(name, ByteBuffer.wrap(start, 0, Math.max(0, read))) ? Yaml.mapper() : Json.mapper();
+    }
+
+    /**
+     * The format is given by the extension, or if unknown by the content, as JSON specifications start with a brace.
+     */
+    private static boolean isYaml(String name, ByteBuffer content) {
+        String lowerCase = name.toLowerCase();
+        if (lowerCase.endsWith(".json")) {
+            return false;
+        } else if (lowerCase.endsWith(".yaml") || lowerCase.endsWith(".yml")) {
+            return true;
+        }
+        while (content.hasRemaining()) {
+            int b = content.get() & 0xFF;
+            if (!Character.isWhitespace(b) && b != 0xEF && b != 0xBB && b != 0xBF) {
+                return b != '{';
+            }
+        }
+        return false;
+    }
+}
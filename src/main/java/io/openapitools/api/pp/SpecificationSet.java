@@ -0,0 +1,132 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.model.FileSet;
+import org.apache.maven.plugin.MojoFailureException;
+import org.codehaus.plexus.util.DirectoryScanner;
+
+/**
+ * The specifications of a file set, which are the files in its directory matched by its includes and excludes, and
+ * never the files written by the plugin when those are written within the directory. The output of a specification is
+ * named after its path relative to the directory followed by the output suffix.
+ */
+final class SpecificationSet {
+
+    private static final String[] DEFAULT_INCLUDES = {"**/*.json", "**/*.yaml", "**/*.yml"};
+
+    private final FileSet specifications;
+    private final File root;
+    private final File outputDirectory;
+    private final String outputSuffix;
+    private final String outputFilename;
+
+    SpecificationSet(FileSet specifications, File root, File outputDirectory, String outputSuffix,
+                     String outputFilename) {
+        this.specifications = specifications;
+        this.root = root;
+        this.outputDirectory = outputDirectory;
+        this.outputSuffix = outputSuffix;
+        this.outputFilename = outputFilename;
+    }
+
+    /**
+     * The directory containing the specifications.
+     */
+    File root() {
+        return root;
+    }
+
+    /**
+     * Fails when the outputs would replace the specifications, which is the case when they are written next to them
+     * without a suffix.
+     */
+    void checkOutputs() throws MojoFailureException {
+        if ((null == outputSuffix || outputSuffix.isEmpty()) && absolute(root).equals(absolute(outputDirectory))) {
+            throw new MojoFailureException("The outputs would replace the specifications in " + root
+                + ", configure an outputSuffix or an outputDirectory other than the directory of the specifications");
+        }
+    }
+
+    /**
+     * The specifications of the file set, relative to its directory.
+     */
+    String[] scan() {
+        SpecificationScanner scanner = scanner();
+        scanner.scan();
+        return scanner.getIncludedFiles();
+    }
+
+    /**
+     * Whether the file is one of the specifications, as when it is found by scanning the directory.
+     */
+    boolean contains(Path file) {
+        Path relative = absolute(root).relativize(absolute(file.toFile()));
+        return !relative.startsWith("..") && scanner().isIncludedFile(relative.toString());
+    }
+
+    /**
+     * Output name derived from the path of a specification relative to the file set directory.
+     */
+    String outputName(String specification) {
+        String name = specification.replace(File.separatorChar, '/');
+        int extension = name.lastIndexOf('.');
+        if (extension > name.lastIndexOf('/')) {
+            name = name.substring(0, extension);
+        }
+        return name + outputSuffix;
+    }
+
+    /**
+     * Scanner of the file set, excluding the files written by the plugin.
+     */
+    private SpecificationScanner scanner() {
+        SpecificationScanner scanner = new SpecificationScanner();
+        scanner.setBasedir(root);
+        scanner.setIncludes(specifications.getIncludes().isEmpty()
+                ? DEFAULT_INCLUDES : specifications.getIncludes().toArray(new String[0]));
+        List<String> excludes = new ArrayList<>(specifications.getExcludes());
+        excludes.addAll(outputExcludes());
+        scanner.setExcludes(excludes.toArray(new String[0]));
+        scanner.addDefaultExcludes();
+        return scanner;
+    }
+
+    /**
+     * Patterns excluding the files written by the plugin from the specifications, when they are written within the
+     * directory of the specifications, which is the case by default as both are the build directory. An output directory
+     * below the specifications is excluded as a whole, while outputs written next to the specifications are recognized by
+     * the output suffix.
+     */
+    private List<String> outputExcludes() {
+        Path specificationsRoot = absolute(root);
+        Path outputRoot = absolute(outputDirectory);
+        if (!outputRoot.startsWith(specificationsRoot)) {
+            return Collections.emptyList();
+        }
+        if (!outputRoot.equals(specificationsRoot)) {
+            return Collections.singletonList(specificationsRoot.relativize(outputRoot).toString() + "/**");
+        }
+        return Arrays.asList("**/*" + outputSuffix + ".*", outputFilename + ".metrics.json");
+    }
+
+    private static Path absolute(File directory) {
+        return directory.getAbsoluteFile().toPath().normalize();
+    }
+
+    /**
+     * Scanner which also tells whether a single file is included, as when it is found by scanning the directory.
+     */
+    private static final class SpecificationScanner extends DirectoryScanner {
+
+        boolean isIncludedFile(String path) {
+            setupMatchPatterns();
+            return isIncluded(path) && !isExcluded(path);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.openapitools.api.pp;
+
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * A stage of the post processing run asynchronously, e.g. parsing or writing a specification.
+ */
+@FunctionalInterface
+interface Stage<T> {
+
+    T run() throws Exception;
+
+    /**
+     * The stage as a supplier for a completable future, where a failure completes the future exceptionally.
+     */
+    static <T> Supplier<T> unchecked(Stage<T> stage) {
+        return () -> {
+            try {
+                return stage.run();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        };
+    }
+}
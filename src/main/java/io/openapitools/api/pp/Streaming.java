@@ -0,0 +1,126 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * Post processes the inputs of an execution as streams, writing each output format in a pass over the input of its own.
+ * When the path items are reused the post processed path items are kept in a ".paths" file next to the outputs, thus
+ * the next build only processes the path items which have changed. The file of the previous build is read alongside
+ * the input while the file of this build is written.
+ */
+final class Streaming {
+
+    private static final String FRAGMENTS_TYPE = "paths";
+
+    private final APIPostProcessorMojo mojo;
+    private final Outputs outputs;
+    private final OperationMatcher matcher;
+    private final boolean reusePaths;
+    private final String pluginVersion;
+
+    Streaming(APIPostProcessorMojo mojo, Outputs outputs, OperationMatcher matcher, boolean reusePaths,
+              String pluginVersion) {
+        this.mojo = mojo;
+        this.outputs = outputs;
+        this.matcher = matcher;
+        this.reusePaths = reusePaths;
+        this.pluginVersion = pluginVersion;
+    }
+
+    void stream(Path input, String outputName, Set<String> apiCodes, String configuration, JsonPatch changes)
+            throws MojoExecutionException, MojoFailureException {
+        if (!Files.isRegularFile(input)) {
+            throw new MojoFailureException("It was not possible to find input API specification at "
+                    + input + " with  extensions json, yml or yaml");
+        }
+        outputs.createParentDirectory(outputName);
+        Metrics metrics = mojo.metrics();
+        if (!outputs.writesSpecification()) {
+            long start = System.nanoTime();
+            try {
+                SharedComponents components = mojo.sharedComponents();
+                StreamingPostProcessor.process(input, Output.discard(), OutputFormat.JSON,
+                    Responses.compile(apiCodes, mojo.listener(changes, components), null != components), false,
+                    components, matcher, null);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to stream " + input, e);
+            }
+            metrics.elapsed(Metrics.Phase.STREAM, start);
+            return;
+        }
+        try (PathFragments fragments = pathFragments(outputName, configuration, changes)) {
+            boolean first = true;
+            for (OutputFormat format : outputs.formats()) {
+                File outputFile = outputs.file(outputName, format);
+                SharedComponents components = mojo.sharedComponents();
+                Responses.Plan plan = first
+                    ? Responses.compile(apiCodes, mojo.listener(changes, components, fragments), null != components)
+                    : Responses.compile(apiCodes, others(components, fragments), null != components);
+                long start = System.nanoTime();
+                try (Output out = outputs.open(outputFile)) {
+                    StreamingPostProcessor.process(input, out.stream(), format, plan, outputs.isCanonical(), components,
+                        matcher, fragments);
+                    outputs.commit(out, outputFile);
+                } catch (IOException e) {
+                    throw new MojoExecutionException("Unable to stream " + input + " to " + outputFile, e);
+                }
+                metrics.elapsed(Metrics.Phase.STREAM, start);
+                outputs.written(format, outputFile);
+                first = false;
+            }
+            if (null != fragments) {
+                mojo.getLog().debug("Reused " + fragments.reused() + " of " + fragments.kept() + " path items of "
+                    + outputName);
+                try {
+                    fragments.write();
+                } catch (IOException e) {
+                    mojo.getLog().warn("Unable to write path items " + outputs.file(outputName, FRAGMENTS_TYPE)
+                        + ", next build will process every path", e);
+                }
+            }
+        } catch (IOException e) {
+            mojo.getLog().debug("Unable to close path items of " + outputName, e);
+        }
+    }
+
+    /**
+     * The path items kept from the previous build when reusing path items and no patch is recorded, as the changes are
+     * not recorded for path items which are reused, otherwise null.
+     */
+    private PathFragments pathFragments(String outputName, String configuration, JsonPatch changes) {
+        if (!reusePaths || null != changes) {
+            return null;
+        }
+        File fragmentsFile = outputs.file(outputName, FRAGMENTS_TYPE);
+        String state = configuration + ";plugin=" + pluginVersion;
+        try {
+            return PathFragments.read(fragmentsFile, state);
+        } catch (IOException e) {
+            mojo.getLog().debug("Unable to read path items " + fragmentsFile + ", every path is processed", e);
+            return PathFragments.empty(fragmentsFile, state);
+        }
+    }
+
+    /**
+     * The other listeners which are present, without the metrics.
+     */
+    private static ProcessingListener others(ProcessingListener... others) {
+        List<ProcessingListener> listeners = new ArrayList<>();
+        for (ProcessingListener other : others) {
+            if (null != other) {
+                listeners.add(other);
+            }
+        }
+        return listeners.isEmpty()
+            ? ProcessingListener.NONE : ProcessingListener.of(listeners.toArray(new ProcessingListener[0]));
+    }
+}
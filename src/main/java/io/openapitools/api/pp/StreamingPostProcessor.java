@@ -0,0 +1,156 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.swagger.models.Path;
+import io.swagger.parser.util.SwaggerDeserializer;
+
+/**
+ * Post processes a specification as a stream of tokens. Every section except "paths" is copied straight through to
+ * the output, and the path items are bound, processed and written one at a time. Thus the full specification is never
+ * held in memory. When the standard components are shared, the global "parameters" and "responses" sections are held
+ * back and written at the end of the specification together with the components referenced by the paths. Path items
+ * kept from a previous build are written as they were, when they are unchanged.
+ */
+final class StreamingPostProcessor {
+
+    private static final String PATHS = "paths";
+
+    private StreamingPostProcessor() {
+        // intentionally empty
+    }
+
+    static void process(File input, OutputStream output, OutputFormat format, Responses.Plan plan, boolean canonical)
+            throws IOException {
+        process(input.toPath(), output, format, plan, canonical, null, OperationMatcher.ALL, null);
+    }
+
+    /**
+     * Post processes the operations selected by the matcher, defining the components referenced by the shared plan
+     * unless they are null, and reusing and keeping the path items in the fragments unless they are null. The fragments
+     * must be notified by the plan of the changes made. The input is streamed from its file system, which may be an
+     * archive the specification is an entry of.
+     */
+    static void process(java.nio.file.Path input, OutputStream output, OutputFormat format, Responses.Plan plan, boolean canonical,
+                        SharedComponents components, OperationMatcher matcher, PathFragments fragments)
+            throws IOException {
+        ObjectMapper reader = new ObjectMapper(inputFactory(input));
+        ObjectWriter writer = format.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        PathDeserializer deserializer = new PathDeserializer();
+
+        try (JsonParser parser = reader.getFactory().createParser(Files.newInputStream(input));
+             JsonGenerator generator = writer.getFactory().createGenerator(output, JsonEncoding.UTF8)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("The specification " + input + " does not contain an object at root level");
+            }
+            generator.writeStartObject();
+            Map<String, ObjectNode> held = new HashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (null != components && token == JsonToken.START_OBJECT && isShared(name)) {
+                    held.put(name, reader.readTree(parser));
+                    continue;
+                }
+                generator.writeFieldName(name);
+                if (PATHS.equals(name) && token == JsonToken.START_OBJECT) {
+                    processPaths(parser, generator, reader, writer, deserializer, plan, canonical, matcher, fragments,
+                        components, format);
+                } else {
+                    generator.copyCurrentStructure(parser);
+                }
+            }
+            if (null != components) {
+                for (String name : new String[] {SharedComponents.PARAMETERS, SharedComponents.RESPONSES}) {
+                    ObjectNode section = components.register(name, held.get(name), plan.listener());
+                    if (null != section) {
+                        generator.writeFieldName(name);
+                        writer.writeValue(generator, section);
+                    }
+                }
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private static void processPaths(JsonParser parser, JsonGenerator generator, ObjectMapper reader, ObjectWriter writer,
+                                     PathDeserializer deserializer, Responses.Plan plan, boolean canonical,
+                                     OperationMatcher matcher, PathFragments fragments, SharedComponents components,
+                                     OutputFormat format) throws IOException {
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            parser.nextToken();
+            generator.writeFieldName(key);
+            if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+                generator.copyCurrentStructure(parser);
+                continue;
+            }
+            ObjectNode node = reader.readTree(parser);
+            if (null == fragments) {
+                writer.writeValue(generator, process(key, node, deserializer, plan, canonical, matcher));
+                continue;
+            }
+            byte[] fingerprint = fragments.fingerprint(key, node);
+            byte[] json = fragments.reuse(key, fingerprint, components);
+            JsonNode item = null;
+            if (null == json) {
+                item = process(key, node, deserializer, plan, canonical, matcher);
+                json = fragments.keep(key, fingerprint, item);
+            }
+            if (format == OutputFormat.JSON) {
+                generator.writeRawValue(new String(json, StandardCharsets.UTF_8));
+            } else {
+                writer.writeValue(generator, null == item ? PathFragments.tree(json) : item);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static JsonNode process(String key, ObjectNode node, PathDeserializer deserializer, Responses.Plan plan,
+                                    boolean canonical, OperationMatcher matcher) {
+        Path path = deserializer.path(node, PATHS + "." + key);
+        PathProcessor.process(key, path, plan, matcher);
+        JsonNode item = OutputFormat.toTree(path);
+        return canonical ? CanonicalOrder.sortPathItem(item) : item;
+    }
+
+    private static boolean isShared(String section) {
+        return SharedComponents.PARAMETERS.equals(section) || SharedComponents.RESPONSES.equals(section);
+    }
+
+    private static JsonFactory inputFactory(java.nio.file.Path input) {
+        String name = input.getFileName().toString().toLowerCase();
+        if (name.endsWith(".yaml") || name.endsWith(".yml")) {
+            return new YAMLFactory();
+        }
+        return new JsonFactory();
+    }
+
+    /**
+     * Binds a single path item the same way the Swagger parser does as part of reading a full specification.
+     */
+    private static class PathDeserializer extends SwaggerDeserializer {
+
+        Path path(ObjectNode node, String location) {
+            return path(node, location, new ParseResult());
+        }
+    }
+}
@@ -0,0 +1,899 @@
+package io.openapitools.api.pp;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.models.Model;
+import io.swagger.models.RefResponse;
+import io.swagger.models.Response;
+import io.swagger.models.Xml;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.RefParameter;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+
+/**
+ * Catalog of the canonical request headers, response headers and responses added by the post processor. The instances
+ * are created once and shared by every operation they are added to, thus every setter of a shared instance fails with
+ * an {@link UnsupportedOperationException}, except for the public fields of the request headers, which must not be
+ * assigned. Existing entries in a specification are complemented by replacing them with a copy. Every request header
+ * and response also has a shared reference to it, for specifications where they are defined once as global parameters
+ * and responses.
+ */
+final class Templates {
+
+    static final String ACCEPT = "Accept";
+    static final String ACCEPT_PATCH = "Accept-Patch";
+    static final String CONTENT_TYPE = "Content-Type";
+    static final String LOG_TOKEN = "X-Log-Token";
+    static final String SERVICE_GENERATION = "X-Service-Generation";
+    static final String CLIENT_VERSION = "X-Client-Version";
+
+    private static final String LOCATION = "Location";
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final String EXPIRES = "Expires";
+    private static final String SHARED_PREFIX = "Standard";
+
+    private static final String[] USUAL_RESPONSE_HEADERS = {CONTENT_TYPE, "Cache-Control", "ETag", EXPIRES, "Last-Modified",
+        "Content-Encoding", LOG_TOKEN, "X-RateLimit-Limit", "X-RateLimit-Limit-24h", "X-RateLimit-Remaining",
+        "X-RateLimit-Reset"};
+
+    private static final Map<String, Parameter> REQUEST_HEADERS = new HashMap<>();
+    private static final Map<String, Property> RESPONSE_HEADERS = new HashMap<>();
+    private static final Map<String, Response> RESPONSES = new HashMap<>();
+    private static final Map<String, Parameter> REQUEST_HEADER_REFERENCES = new HashMap<>();
+    private static final Map<String, Response> RESPONSE_REFERENCES = new HashMap<>();
+    private static final Map<String, String> REFERENCED_HEADERS = new HashMap<>();
+    private static final Map<String, String> REFERENCED_CODES = new HashMap<>();
+    private static final Map<String, JsonNode> REQUEST_HEADER_TREES = new HashMap<>();
+    private static final Map<String, JsonNode> RESPONSE_TREES = new HashMap<>();
+
+    static {
+        requestHeader(ACCEPT, "Default that is set to application/hal+json and that will return the most recent version " +
+            "of content. If you want another version use application/hal+json;concept=(the projection);v=(the version)",
+            "((application\\/hal\\+json)+(, )?(;concept=[a-z][a-z0-9]+)?(;v=[0-9]+)?(, )*)+", true);
+        requestHeader(LOG_TOKEN, "A Correlation ID that consumers can specify to ensure traceability from own logs." +
+            " If not present a token will be generated and returned in response", "^[a-zA-Z0-9-]{36}$", false);
+        requestHeader(SERVICE_GENERATION, "A service generation ID that allows consumers to specify an API structure version " +
+            "other than the current one. If not present the most recent will be chosen", "^[0-9]{1}.[0-9]{1}.[0-9]{1}", false);
+        requestHeader(CLIENT_VERSION, "A Client version ID is recommended for traceability from own logs.",
+            "^[0-9]{1}.[0-9]{1}.[0-9]{1}", true);
+        requestHeader(ACCEPT_PATCH, "A an explicit header for the accept of Patch Verb.", "^application/patch+json", true);
+        requestHeader(CONTENT_TYPE, "A an explicit header for the body json.", "^application/patch+json", true);
+
+        responseHeader(LOG_TOKEN, "A Correlation ID for consumer use");
+        responseHeader(LOCATION, "The Location is used to state where resource can be found");
+        responseHeader(RETRY_AFTER, "When can the resource be expected at the Location");
+        responseHeader(CONTENT_TYPE,
+            "The concrete content-type returned from service - save on client for future versioning of the particular endpoint");
+        responseHeader("Cache-Control", "The consumer caching information");
+        responseHeader("ETag", "The entity tag");
+        responseHeader(EXPIRES, "The information expiry time");
+        responseHeader("Last-Modified", "The information was changed at this time");
+        responseHeader("Content-Encoding", "The concrete content-encoding service");
+        responseHeader("X-RateLimit-Limit", "X-RateLimit-Limit: Request limit per minute");
+        responseHeader("X-RateLimit-Limit-24h", "X-RateLimit-Limit-24h: Request limit per 24h");
+        responseHeader("X-RateLimit-Remaining",
+            "X-RateLimit-Remaining: Requests left for the domain/resource for the 24h (locally determined)");
+        responseHeader("X-RateLimit-Reset",
+            "X-RateLimit-Reset: The remaining window before the rate limit resets in UTC epoch seconds");
+
+        response("200", "OK.", LOG_TOKEN).with(USUAL_RESPONSE_HEADERS).register();
+        response("201", "Resource Created.", LOCATION, LOG_TOKEN).with(USUAL_RESPONSE_HEADERS).register();
+        response("202", "Request accepted for further processing.", LOCATION, RETRY_AFTER, LOG_TOKEN).register();
+        response("203", "Non Authoritative Information", LOG_TOKEN).register();
+        response("204", "Request accepted Nothing Returned.", LOG_TOKEN).register();
+        response("301", "Resource has moved.", LOCATION, LOG_TOKEN, EXPIRES).register();
+        response("304", "Not Modified - Resource was not updated", LOG_TOKEN).register();
+        response("307", "Temporary Redirect - Resource is available shortly else where", LOCATION, LOG_TOKEN, EXPIRES)
+            .register();
+        response("400", "Bad Request - the contents of the request were semantically or syntactically wrong.", LOG_TOKEN)
+            .register();
+        response("401", "Not Authorized for the resource.", LOG_TOKEN).register();
+        response("403", "Forbidden access to the resource.", LOG_TOKEN).register();
+        response("404", "Resource Not Found", LOG_TOKEN).register();
+        response("406", "Not Acceptable - Possible mismatch between headers and content", LOG_TOKEN).register();
+        response("409", "Conflict - state of resource may have changed.", LOG_TOKEN).register();
+        response("410", "Gone - resource is no longer available.", LOG_TOKEN).register();
+        response("412", "Precondition Failed - result from state of headers.", LOG_TOKEN).register();
+        response("415", "Content-Type not supported by Resource", LOG_TOKEN).register();
+        response("422", "Unprocessable Request - illegal modification of resource", LOG_TOKEN).register();
+        response("429", "Too much load is added from the client side into the service and the client is requested " +
+            "to limit the number of requests - as the limits has been reached", RETRY_AFTER, LOG_TOKEN).register();
+        response("500", "The server experienced a currently unknown problem", LOG_TOKEN).register();
+        response("501", "This method is currently not implemented", LOG_TOKEN).register();
+        response("503", "The service is unavailable", LOG_TOKEN, RETRY_AFTER).register();
+        response("505", "HTTP Version not supported", LOG_TOKEN).register();
+    }
+
+    private Templates() {
+        // intentionally empty
+    }
+
+    /**
+     * The shared request header parameter with the given name.
+     */
+    static Parameter requestHeader(String name) {
+        return REQUEST_HEADERS.get(name);
+    }
+
+    /**
+     * The shared response for the given status code including all its standard response headers.
+     */
+    static Response response(String code) {
+        return RESPONSES.get(code);
+    }
+
+    /**
+     * Name of the global parameter or response defining the request header or the response for a status code, e.g.
+     * "StandardXLogToken" or "Standard404".
+     */
+    static String sharedName(String headerOrCode) {
+        return SHARED_PREFIX + headerOrCode.replace("-", "");
+    }
+
+    /**
+     * The shared reference to the global parameter defining the request header with the given name.
+     */
+    static Parameter requestHeaderReference(String name) {
+        return REQUEST_HEADER_REFERENCES.get(name);
+    }
+
+    /**
+     * The shared reference to the global response defining the response for the given status code.
+     */
+    static Response responseReference(String code) {
+        return RESPONSE_REFERENCES.get(code);
+    }
+
+    /**
+     * The name of the request header if the parameter refers to its global definition, otherwise null.
+     */
+    static String referencedHeader(Parameter parameter) {
+        return parameter instanceof RefParameter ? REFERENCED_HEADERS.get(((RefParameter) parameter).get$ref()) : null;
+    }
+
+    /**
+     * Whether the parameter is the same as the standard request header when written, e.g. a copy of it.
+     */
+    static boolean isStandard(Parameter parameter, String header) {
+        return Objects.equals(parameter.getDescription(), REQUEST_HEADERS.get(header).getDescription())
+            && REQUEST_HEADER_TREES.get(header).equals(OutputFormat.toTree(parameter));
+    }
+
+    /**
+     * Whether the response is the same as the standard response for the status code when written.
+     */
+    static boolean isStandard(Response response, String code) {
+        return Objects.equals(response.getDescription(), RESPONSES.get(code).getDescription())
+            && RESPONSE_TREES.get(code).equals(OutputFormat.toTree(response));
+    }
+
+    /**
+     * The status code if the response refers to the global definition of its response, otherwise null.
+     */
+    static String referencedCode(Response response) {
+        return response instanceof RefResponse ? REFERENCED_CODES.get(((RefResponse) response).get$ref()) : null;
+    }
+
+    private static void requestHeader(String name, String description, String pattern, boolean required) {
+        SharedRequestHeader parameter = new SharedRequestHeader();
+        parameter.setIn("header");
+        parameter.setRequired(required);
+        parameter.setName(name);
+        parameter.setPattern(pattern);
+        parameter.setDescription(description);
+        parameter.share("request header " + name);
+        REQUEST_HEADERS.put(name, parameter);
+        SharedRequestHeaderReference reference = new SharedRequestHeaderReference("#/parameters/" + sharedName(name));
+        reference.share("reference " + reference.get$ref());
+        REQUEST_HEADER_REFERENCES.put(name, reference);
+        REFERENCED_HEADERS.put(reference.get$ref(), name);
+        REQUEST_HEADER_TREES.put(name, OutputFormat.toTree(parameter));
+    }
+
+    private static void responseHeader(String name, String description) {
+        SharedResponseHeader property = new SharedResponseHeader();
+        property.setName(name);
+        property.description(description);
+        property.share("response header " + name);
+        RESPONSE_HEADERS.put(name, property);
+    }
+
+    private static UnsupportedOperationException changed(String template) {
+        return new UnsupportedOperationException("The " + template + " is shared by every operation it is added to,"
+            + " copy it before changing it");
+    }
+
+    private static ResponseTemplate response(String code, String description, String... headers) {
+        return new ResponseTemplate(code, description).with(headers);
+    }
+
+    /**
+     * Collects the headers of a response in the order they appear in the output.
+     */
+    private static final class ResponseTemplate {
+        private final String code;
+        private final String description;
+        private final Map<String, Property> headers = new LinkedHashMap<>();
+
+        private ResponseTemplate(String code, String description) {
+            this.code = code;
+            this.description = description;
+        }
+
+        ResponseTemplate with(String... names) {
+            for (String name : names) {
+                headers.putIfAbsent(name, RESPONSE_HEADERS.get(name));
+            }
+            return this;
+        }
+
+        void register() {
+            SharedResponse response = new SharedResponse();
+            response.description(description);
+            response.setHeaders(Collections.unmodifiableMap(headers));
+            response.share("response " + code);
+            RESPONSES.put(code, response);
+            SharedResponseReference reference = new SharedResponseReference("#/responses/" + sharedName(code));
+            reference.share("reference " + reference.get$ref());
+            RESPONSE_REFERENCES.put(code, reference);
+            REFERENCED_CODES.put(reference.get$ref(), code);
+            RESPONSE_TREES.put(code, OutputFormat.toTree(response));
+        }
+    }
+
+    /**
+     * A request header shared by every operation it is added to.
+     */
+    private static final class SharedRequestHeader extends HeaderParameter {
+
+        private String shared;
+
+        /**
+         * Shares the template, which from now on fails when it is changed.
+         */
+        void share(String template) {
+            super.setVendorExtensions(Collections.emptyMap());
+            shared = template;
+        }
+
+        private void unchanged() {
+            if (null != shared) {
+                throw changed(shared);
+            }
+        }
+
+        @Override
+        public void setIn(String in) {
+            unchanged();
+            super.setIn(in);
+        }
+
+        @Override
+        public void setName(String name) {
+            unchanged();
+            super.setName(name);
+        }
+
+        @Override
+        public void setDescription(String description) {
+            unchanged();
+            super.setDescription(description);
+        }
+
+        @Override
+        public void setRequired(boolean required) {
+            unchanged();
+            super.setRequired(required);
+        }
+
+        @Override
+        public void setReadOnly(Boolean readOnly) {
+            unchanged();
+            super.setReadOnly(readOnly);
+        }
+
+        @Override
+        public void setAccess(String access) {
+            unchanged();
+            super.setAccess(access);
+        }
+
+        @Override
+        public void setPattern(String pattern) {
+            unchanged();
+            super.setPattern(pattern);
+        }
+
+        @Override
+        public void setVendorExtension(String name, Object value) {
+            unchanged();
+            super.setVendorExtension(name, value);
+        }
+
+        @Override
+        public void setVendorExtensions(Map<String, Object> vendorExtensions) {
+            unchanged();
+            super.setVendorExtensions(vendorExtensions);
+        }
+
+        @Override
+        public void setEnum(List<String> values) {
+            unchanged();
+            super.setEnum(values);
+        }
+
+        @Override
+        public void setEnumValue(List<?> values) {
+            unchanged();
+            super.setEnumValue(values);
+        }
+
+        @Override
+        public void setItems(Property items) {
+            unchanged();
+            super.setItems(items);
+        }
+
+        @Override
+        public void setFormat(String format) {
+            unchanged();
+            super.setFormat(format);
+        }
+
+        @Override
+        public void setType(String type) {
+            unchanged();
+            super.setType(type);
+        }
+
+        @Override
+        public void setCollectionFormat(String collectionFormat) {
+            unchanged();
+            super.setCollectionFormat(collectionFormat);
+        }
+
+        @Override
+        public void setProperty(Property property) {
+            unchanged();
+            super.setProperty(property);
+        }
+
+        @Override
+        public void setDefaultValue(String defaultValue) {
+            unchanged();
+            super.setDefaultValue(defaultValue);
+        }
+
+        @Override
+        public void setDefault(Object defaultValue) {
+            unchanged();
+            super.setDefault(defaultValue);
+        }
+
+        @Override
+        public void setExclusiveMaximum(Boolean exclusiveMaximum) {
+            unchanged();
+            super.setExclusiveMaximum(exclusiveMaximum);
+        }
+
+        @Override
+        public void setMaximum(BigDecimal maximum) {
+            unchanged();
+            super.setMaximum(maximum);
+        }
+
+        @Override
+        public void setExclusiveMinimum(Boolean exclusiveMinimum) {
+            unchanged();
+            super.setExclusiveMinimum(exclusiveMinimum);
+        }
+
+        @Override
+        public void setMinimum(BigDecimal minimum) {
+            unchanged();
+            super.setMinimum(minimum);
+        }
+
+        @Override
+        public void setMaxItems(Integer maxItems) {
+            unchanged();
+            super.setMaxItems(maxItems);
+        }
+
+        @Override
+        public void setMinItems(Integer minItems) {
+            unchanged();
+            super.setMinItems(minItems);
+        }
+
+        @Override
+        public void setAllowEmptyValue(Boolean allowEmptyValue) {
+            unchanged();
+            super.setAllowEmptyValue(allowEmptyValue);
+        }
+
+        @Override
+        public void setMaxLength(Integer maxLength) {
+            unchanged();
+            super.setMaxLength(maxLength);
+        }
+
+        @Override
+        public void setMinLength(Integer minLength) {
+            unchanged();
+            super.setMinLength(minLength);
+        }
+
+        @Override
+        public void setUniqueItems(Boolean uniqueItems) {
+            unchanged();
+            super.setUniqueItems(uniqueItems);
+        }
+
+        @Override
+        public void setMultipleOf(Number multipleOf) {
+            unchanged();
+            super.setMultipleOf(multipleOf);
+        }
+
+        @Override
+        public void setExample(String example) {
+            unchanged();
+            super.setExample(example);
+        }
+
+        @Override
+        public io.swagger.models.parameters.HeaderParameter items(Property items) {
+            unchanged();
+            return super.items(items);
+        }
+
+        @Override
+        public io.swagger.models.parameters.HeaderParameter _enum(List<String> values) {
+            unchanged();
+            return super._enum(values);
+        }
+    }
+
+    /**
+     * A reference to the global definition of a request header shared by every operation it is added to.
+     */
+    private static final class SharedRequestHeaderReference extends RefParameter {
+
+        private String shared;
+
+        private SharedRequestHeaderReference(String ref) {
+            super(ref);
+        }
+
+        /**
+         * Shares the template, which from now on fails when it is changed.
+         */
+        void share(String template) {
+            super.setVendorExtensions(Collections.emptyMap());
+            shared = template;
+        }
+
+        private void unchanged() {
+            if (null != shared) {
+                throw changed(shared);
+            }
+        }
+
+        @Override
+        public void setIn(String in) {
+            unchanged();
+            super.setIn(in);
+        }
+
+        @Override
+        public void setName(String name) {
+            unchanged();
+            super.setName(name);
+        }
+
+        @Override
+        public void setDescription(String description) {
+            unchanged();
+            super.setDescription(description);
+        }
+
+        @Override
+        public void setRequired(boolean required) {
+            unchanged();
+            super.setRequired(required);
+        }
+
+        @Override
+        public void setReadOnly(Boolean readOnly) {
+            unchanged();
+            super.setReadOnly(readOnly);
+        }
+
+        @Override
+        public void setAccess(String access) {
+            unchanged();
+            super.setAccess(access);
+        }
+
+        @Override
+        public void setPattern(String pattern) {
+            unchanged();
+            super.setPattern(pattern);
+        }
+
+        @Override
+        public void setVendorExtension(String name, Object value) {
+            unchanged();
+            super.setVendorExtension(name, value);
+        }
+
+        @Override
+        public void setVendorExtensions(Map<String, Object> vendorExtensions) {
+            unchanged();
+            super.setVendorExtensions(vendorExtensions);
+        }
+
+        @Override
+        public void set$ref(String ref) {
+            unchanged();
+            super.set$ref(ref);
+        }
+    }
+
+    /**
+     * A response header shared by every response it is added to.
+     */
+    private static final class SharedResponseHeader extends StringProperty {
+
+        private String shared;
+
+        /**
+         * Shares the template, which from now on fails when it is changed.
+         */
+        void share(String template) {
+            super.setVendorExtensions(Collections.emptyMap());
+            shared = template;
+        }
+
+        private void unchanged() {
+            if (null != shared) {
+                throw changed(shared);
+            }
+        }
+
+        @Override
+        public void setName(String name) {
+            unchanged();
+            super.setName(name);
+        }
+
+        @Override
+        public void setExample(Object example) {
+            unchanged();
+            super.setExample(example);
+        }
+
+        @Override
+        public void setExample(String example) {
+            unchanged();
+            super.setExample(example);
+        }
+
+        @Override
+        public void setPosition(Integer position) {
+            unchanged();
+            super.setPosition(position);
+        }
+
+        @Override
+        public void setType(String type) {
+            unchanged();
+            super.setType(type);
+        }
+
+        @Override
+        public void setFormat(String format) {
+            unchanged();
+            super.setFormat(format);
+        }
+
+        @Override
+        public void setXml(Xml xml) {
+            unchanged();
+            super.setXml(xml);
+        }
+
+        @Override
+        public void setRequired(boolean required) {
+            unchanged();
+            super.setRequired(required);
+        }
+
+        @Override
+        public void setTitle(String title) {
+            unchanged();
+            super.setTitle(title);
+        }
+
+        @Override
+        public void setDescription(String description) {
+            unchanged();
+            super.setDescription(description);
+        }
+
+        @Override
+        public void setReadOnly(Boolean readOnly) {
+            unchanged();
+            super.setReadOnly(readOnly);
+        }
+
+        @Override
+        public void setDefault(String defaultValue) {
+            unchanged();
+            super.setDefault(defaultValue);
+        }
+
+        @Override
+        public void setAccess(String access) {
+            unchanged();
+            super.setAccess(access);
+        }
+
+        @Override
+        public void setAllowEmptyValue(Boolean allowEmptyValue) {
+            unchanged();
+            super.setAllowEmptyValue(allowEmptyValue);
+        }
+
+        @Override
+        public void setVendorExtension(String name, Object value) {
+            unchanged();
+            super.setVendorExtension(name, value);
+        }
+
+        @Override
+        public void setVendorExtensions(Map<String, Object> vendorExtensions) {
+            unchanged();
+            super.setVendorExtensions(vendorExtensions);
+        }
+
+        @Override
+        public void setVendorExtensionMap(Map<String, Object> vendorExtensions) {
+            unchanged();
+            super.setVendorExtensionMap(vendorExtensions);
+        }
+
+        @Override
+        public void setEnum(List<String> values) {
+            unchanged();
+            super.setEnum(values);
+        }
+
+        @Override
+        public void setMinLength(Integer minLength) {
+            unchanged();
+            super.setMinLength(minLength);
+        }
+
+        @Override
+        public void setMaxLength(Integer maxLength) {
+            unchanged();
+            super.setMaxLength(maxLength);
+        }
+
+        @Override
+        public void setPattern(String pattern) {
+            unchanged();
+            super.setPattern(pattern);
+        }
+
+        @Override
+        public StringProperty _default(String defaultValue) {
+            unchanged();
+            return super._default(defaultValue);
+        }
+
+        @Override
+        public StringProperty _enum(String value) {
+            unchanged();
+            return super._enum(value);
+        }
+
+        @Override
+        public StringProperty _enum(List<String> values) {
+            unchanged();
+            return super._enum(values);
+        }
+
+        @Override
+        public Property rename(String name) {
+            unchanged();
+            return super.rename(name);
+        }
+    }
+
+    /**
+     * A response shared by every operation it is added to.
+     */
+    private static final class SharedResponse extends Response {
+
+        private String shared;
+
+        /**
+         * Shares the template, which from now on fails when it is changed.
+         */
+        void share(String template) {
+            super.setVendorExtensions(Collections.emptyMap());
+            shared = template;
+        }
+
+        private void unchanged() {
+            if (null != shared) {
+                throw changed(shared);
+            }
+        }
+
+        @Override
+        public void setDescription(String description) {
+            unchanged();
+            super.setDescription(description);
+        }
+
+        @Deprecated
+        @Override
+        public void setSchema(Property schema) {
+            unchanged();
+            super.setSchema(schema);
+        }
+
+        @Override
+        public void setResponseSchema(Model schema) {
+            unchanged();
+            super.setResponseSchema(schema);
+        }
+
+        @Override
+        public void setExamples(Map<String, Object> examples) {
+            unchanged();
+            super.setExamples(examples);
+        }
+
+        @Override
+        public void setHeaders(Map<String, Property> headers) {
+            unchanged();
+            super.setHeaders(headers);
+        }
+
+        @Override
+        public void addHeader(String name, Property property) {
+            unchanged();
+            super.addHeader(name, property);
+        }
+
+        @Override
+        public void setVendorExtension(String name, Object value) {
+            unchanged();
+            super.setVendorExtension(name, value);
+        }
+
+        @Override
+        public void setVendorExtensions(Map<String, Object> vendorExtensions) {
+            unchanged();
+            super.setVendorExtensions(vendorExtensions);
+        }
+
+        @Override
+        public Response example(String type, Object example) {
+            unchanged();
+            return super.example(type, example);
+        }
+
+        @Override
+        public Response headers(Map<String, Property> headers) {
+            unchanged();
+            return super.headers(headers);
+        }
+    }
+
+    /**
+     * A reference to the global definition of a response shared by every operation it is added to.
+     */
+    private static final class SharedResponseReference extends RefResponse {
+
+        private String shared;
+
+        private SharedResponseReference(String ref) {
+            super(ref);
+        }
+
+        /**
+         * Shares the template, which from now on fails when it is changed.
+         */
+        void share(String template) {
+            super.setVendorExtensions(Collections.emptyMap());
+            shared = template;
+        }
+
+        private void unchanged() {
+            if (null != shared) {
+                throw changed(shared);
+            }
+        }
+
+        @Override
+        public void setDescription(String description) {
+            unchanged();
+            super.setDescription(description);
+        }
+
+        @Deprecated
+        @Override
+        public void setSchema(Property schema) {
+            unchanged();
+            super.setSchema(schema);
+        }
+
+        @Override
+        public void setResponseSchema(Model schema) {
+            unchanged();
+            super.setResponseSchema(schema);
+        }
+
+        @Override
+        public void setExamples(Map<String, Object> examples) {
+            unchanged();
+            super.setExamples(examples);
+        }
+
+        @Override
+        public void setHeaders(Map<String, Property> headers) {
+            unchanged();
+            super.setHeaders(headers);
+        }
+
+        @Override
+        public void addHeader(String name, Property property) {
+            unchanged();
+            super.addHeader(name, property);
+        }
+
+        @Override
+        public void setVendorExtension(String name, Object value) {
+            unchanged();
+            super.setVendorExtension(name, value);
+        }
+
+        @Override
+        public void setVendorExtensions(Map<String, Object> vendorExtensions) {
+            unchanged();
+            super.setVendorExtensions(vendorExtensions);
+        }
+
+        @Override
+        public void set$ref(String ref) {
+            unchanged();
+            super.set$ref(ref);
+        }
+
+        @Override
+        public Response example(String type, Object example) {
+            unchanged();
+            return super.example(type, example);
+        }
+
+        @Override
+        public Response headers(Map<String, Property> headers) {
+            unchanged();
+            return super.headers(headers);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.openapitools.api.pp;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import io.swagger.models.Swagger;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+
+/**
+ * Checks the input specifications against the codes and the standard headers in a single parallel pass over their
+ * paths. The specifications are neither changed nor written, as the changes are made to the parsed copies only.
+ */
+final class Verification {
+
+    private final APIPostProcessorMojo mojo;
+
+    Verification(APIPostProcessorMojo mojo) {
+        this.mojo = mojo;
+    }
+
+    /**
+     * The violations of every input having any, by the name the input is reported by. The inputs are either files or
+     * entries of an artifact.
+     */
+    Map<String, Violations> execute(Map<String, Path> inputs, Set<String> apiCodes)
+            throws MojoExecutionException, MojoFailureException {
+        Metrics metrics = mojo.metrics();
+        Map<String, Violations> found = new LinkedHashMap<>();
+        for (Map.Entry<String, Path> input : inputs.entrySet()) {
+            Swagger api = mojo.parse(input.getValue());
+            if (null == api.getPaths()) {
+                continue;
+            }
+            Violations violations = new Violations(api.getResponses());
+            long start = System.nanoTime();
+            mojo.processPaths(api.getPaths(), Responses.compile(apiCodes, mojo.listener(violations)), true);
+            metrics.elapsed(Metrics.Phase.TRANSFORM, start);
+            metrics.specificationProcessed();
+            if (violations.count() > 0) {
+                found.put(input.getKey(), violations);
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,41 @@
+package io.openapitools.api.pp;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * Maven mojo which verifies that the specification already has the headers and responses the postprocessor goal would
+ * add, using the same configuration. Every operation lacking any of them is reported and fails the build, while nothing
+ * is written.
+ */
+@Mojo(name = "verify", defaultPhase = LifecyclePhase.VERIFY, requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
+public class VerifyMojo extends APIPostProcessorMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        Map<String, Violations> found = verify();
+        if (found.isEmpty()) {
+            getLog().info("The specification conforms to the standard headers and responses");
+            return;
+        }
+        int operations = 0;
+        int violations = 0;
+        for (Map.Entry<String, Violations> specification : found.entrySet()) {
+            for (Map.Entry<String, List<String>> operation : specification.getValue().byOperation().entrySet()) {
+                getLog().error(specification.getKey() + ": " + operation.getKey() + " "
+                    + String.join(", ", operation.getValue()));
+                operations++;
+                violations += operation.getValue().size();
+            }
+        }
+        throw new MojoFailureException(operations + " operations of " + found.size()
+            + " specifications do not conform to the standard headers and responses, having " + violations
+            + " violations in total");
+    }
+}
@@ -0,0 +1,103 @@
+package io.openapitools.api.pp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefResponse;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.refs.RefFormat;
+
+/**
+ * Collects the operations which do not conform to the standard headers and responses, as every change post processing
+ * would make to an operation is a violation. The violations are ordered by path and operation, thus they are the same
+ * when processing in parallel. An operation is only tracked while its path is being processed. A response referring to
+ * a response of the specification is checked as the response it refers to.
+ */
+final class Violations implements ProcessingListener {
+
+    private final Map<String, Response> responses;
+    private final Map<Operation, String> operations = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final Map<String, List<String>> violations = new ConcurrentSkipListMap<>(
+        Comparator.comparing((String name) -> name.substring(name.indexOf(' ') + 1)).thenComparing(name -> name));
+
+    /**
+     * Violations of a specification having the given global responses, which may be null.
+     */
+    Violations(Map<String, Response> responses) {
+        this.responses = null == responses ? Collections.emptyMap() : responses;
+    }
+
+    @Override
+    public void pathStarted(String key, Path path) {
+        path.getOperationMap().forEach((method, operation) -> operations.put(operation, method.name() + " " + key));
+    }
+
+    @Override
+    public void pathProcessed(Path path) {
+        path.getOperations().forEach(operations::remove);
+    }
+
+    @Override
+    public void responseAdded(Operation operation, String code, Response response) {
+        violation(operation, "lacks response " + code);
+    }
+
+    @Override
+    public void responseComplemented(Operation operation, String code, Response response) {
+        if (!refersToStandard(response, code)) {
+            violation(operation, "response " + code + " lacks standard headers");
+        }
+    }
+
+    @Override
+    public void parameterAdded(Operation operation, Parameter parameter) {
+        violation(operation, "lacks header " + parameter.getName());
+    }
+
+    @Override
+    public void parameterComplemented(Operation operation, Parameter parameter) {
+        violation(operation, "header " + parameter.getName() + " is incomplete");
+    }
+
+    /**
+     * The violations of every operation having any, keyed by the method and path, e.g. "GET /pets/{id}".
+     */
+    Map<String, List<String>> byOperation() {
+        return Collections.unmodifiableMap(violations);
+    }
+
+    /**
+     * The number of violations of all operations.
+     */
+    int count() {
+        return violations.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Whether the response refers to a global response of the specification having the standard headers of the code,
+     * as the headers added to the reference by post processing are those of the response it refers to.
+     */
+    private boolean refersToStandard(Response response, String code) {
+        if (!(response instanceof RefResponse) || ((RefResponse) response).getRefFormat() != RefFormat.INTERNAL) {
+            return false;
+        }
+        Response referenced = responses.get(((RefResponse) response).getSimpleRef());
+        return null != referenced && null != referenced.getHeaders()
+            && referenced.getHeaders().keySet().containsAll(Templates.response(code).getHeaders().keySet());
+    }
+
+    private void violation(Operation operation, String message) {
+        String name = operations.get(operation);
+        if (null != name) {
+            violations.computeIfAbsent(name, found -> new ArrayList<>()).add(message);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.openapitools.api.pp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * Maven mojo which post processes the specification as the postprocessor goal does, and then watches the input directory
+ * and post processes the specification again whenever it changes until the build is stopped. The plugin, the mappers and
+ * the parsed specifications are kept in memory between the runs, thus a regenerated specification is post processed
+ * without the startup of a new build.
+ */
+@Mojo(name = "watch", requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
+public class WatchMojo extends APIPostProcessorMojo {
+
+    /**
+     * Milliseconds without further changes to the input before it is post processed, as a specification is often
+     * written in several steps. Default is 100.
+     */
+    @Parameter(defaultValue = "100")
+    private long debounce = 100;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        File directory = watchedDirectory();
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            register(watcher, directory.toPath());
+            getLog().info("Watching " + directory + " for changes, stop the build to stop watching");
+            run();
+            while (!Thread.currentThread().isInterrupted()) {
+                boolean changed = changed(watcher, watcher.take());
+                for (WatchKey key = watcher.poll(debounce, TimeUnit.MILLISECONDS); null != key;
+                     key = watcher.poll(debounce, TimeUnit.MILLISECONDS)) {
+                    changed |= changed(watcher, key);
+                }
+                if (changed) {
+                    run();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            getLog().info("Stopped watching " + directory);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to watch " + directory, e);
+        }
+    }
+
+    /**
+     * Post processes the specification, where a failure is logged and the specification is watched for the next change.
+     */
+    private void run() {
+        try {
+            super.execute();
+        } catch (MojoExecutionException | MojoFailureException e) {
+            getLog().error(e.getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Whether any input has changed according to the events of the key. New directories are watched as well.
+     */
+    private boolean changed(WatchService watcher, WatchKey key) throws IOException {
+        boolean changed = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+                register(watcher, file);
+            }
+            changed |= isInput(file);
+        }
+        key.reset();
+        return changed;
+    }
+
+    private static void register(WatchService watcher, Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -1,20 +1,66 @@
 package io.openapitools.pp;
 
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import io.openapitools.api.pp.Filter;
+import io.openapitools.api.pp.Headers;
+import io.openapitools.api.pp.OutputFormat;
+import io.openapitools.api.pp.Responses;
+import io.swagger.models.Operation;
+import io.swagger.models.Response;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.StringProperty;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.FileSet;
 import org.apache.maven.plugin.Mojo;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
 import org.apache.maven.plugin.testing.MojoRule;
+import org.apache.maven.project.MavenProject;
+import org.junit.After;
 import org.junit.Rule;
 import org.junit.Test;
 
@@ -23,6 +69,16 @@ public class APIPostProcessorMojoIT {
     @Rule
     public MojoRule rule = new MojoRule();
 
+    /**
+     * The parsed specification cache is shared by the executions in the same JVM, thus it is cleared after each test.
+     */
+    @After
+    public void clearSpecificationCache() throws Exception {
+        Method clear = Class.forName("io.openapitools.api.pp.SpecificationCache").getDeclaredMethod("clear");
+        clear.setAccessible(true);
+        clear.invoke(null);
+    }
+
     @Test
     public void testFullyConfigured() throws Exception {
         Path output = Paths.get("target/api");
@@ -126,6 +182,977 @@ public class APIPostProcessorMojoIT {
         assertTrue("As this is a min codes postprocessing 500 should  be part of that", apiAsStr.contains("500"));
     }
 
+    @Test
+    public void testStreamingPostProcessed() throws Exception {
+        Path output = Paths.get("target/api-streaming");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/streaming-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        mojo.execute();
+        File yaml = new File("target/api-streaming/open-api-specs-streaming.yaml");
+        assertTrue(yaml.exists());
+        File json = new File("target/api-streaming/open-api-specs-streaming.json");
+        assertTrue(json.exists());
+        String apiAsStr = new String(Files.readAllBytes(Paths.get("target/api-streaming/open-api-specs-streaming.json")));
+        assertTrue("As this is a standard postprocessing 505 should be part of that", apiAsStr.contains("505"));
+        assertTrue("Definitions must be copied through from the input", apiAsStr.contains("\"definitions\""));
+    }
+
+    @Test
+    public void testParallelSameAsSequential() throws Exception {
+        Path output = Paths.get("target/api-parallel");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/parallel-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "parallel", false);
+        rule.setVariableValueToObject(mojo, "outputFilename", "open-api-specs-sequential");
+        mojo.execute();
+        for (String extension : new String[] {".json", ".yaml"}) {
+            assertArrayEquals("Parallel processing must give the same output as sequential processing",
+                Files.readAllBytes(output.resolve("open-api-specs-sequential" + extension)),
+                Files.readAllBytes(output.resolve("open-api-specs-parallel" + extension)));
+        }
+    }
+
+    @Test
+    public void testTemplatesUnchangedByComplementedResponses() throws Exception {
+        for (String directory : new String[] {"target/api-templates", "target/templates-input"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode specification = (ObjectNode) mapper.readTree(new File("sample-api/petstore.json"));
+        ObjectNode custom = ((ObjectNode) specification.get("paths").get("/pet").get("post").get("responses"))
+            .putObject("505");
+        custom.put("description", "Custom version not supported");
+        custom.putObject("headers").putObject("X-Custom").put("type", "string");
+        Path input = Paths.get("target/templates-input/petstore.json");
+        Files.createDirectories(input.getParent());
+        mapper.writeValue(input.toFile(), specification);
+
+        File file = new File("src/test/resources/templates-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "inputDirectory", new File("sample-api"));
+        rule.setVariableValueToObject(mojo, "outputFilename", "open-api-specs-templates-sample");
+        mojo.execute();
+
+        JsonNode paths = mapper.readTree(new File("target/api-templates/open-api-specs-templates.json")).get("paths");
+        JsonNode complemented = paths.get("/pet").get("post").get("responses").get("505");
+        JsonNode standard = paths.get("/pet").get("put").get("responses").get("505");
+        assertEquals("Custom version not supported", complemented.get("description").asText());
+        assertTrue(complemented.get("headers").has("X-Custom"));
+        assertEquals("A response must be complemented with all standard headers",
+            standard.get("headers").size() + 1, complemented.get("headers").size());
+        assertFalse("A complemented response must not change other operations", standard.get("headers").has("X-Custom"));
+
+        JsonNode sample = mapper.readTree(new File("target/api-templates/open-api-specs-templates-sample.json"))
+            .get("paths");
+        assertEquals("A complemented response must not change the template",
+            standard, sample.get("/pet").get("post").get("responses").get("505"));
+        for (JsonNode path : sample) {
+            for (JsonNode operation : path) {
+                assertEquals(standard, operation.get("responses").get("505"));
+            }
+        }
+    }
+
+    @Test
+    public void testHeadersMatchedByNameAndLocation() throws Exception {
+        for (String directory : new String[] {"target/api-headers", "target/headers-input"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode specification = mapper.createObjectNode();
+        specification.put("swagger", "2.0");
+        specification.putObject("info").put("title", "Items").put("version", "1.0.0");
+        ObjectNode operation = specification.putObject("paths").putObject("/items").putObject("get");
+        operation.putArray("parameters")
+            .add(mapper.createObjectNode().put("name", "x-log-token").put("in", "header").put("type", "string"))
+            .add(mapper.createObjectNode().put("name", "Accept").put("in", "query").put("type", "string"));
+        operation.putObject("responses").putObject("200").put("description", "The items");
+        Path input = Paths.get("target/headers-input/items.json");
+        Files.createDirectories(input.getParent());
+        mapper.writeValue(input.toFile(), specification);
+
+        rule.lookupMojo("postprocessor", new File("src/test/resources/headers-post-processor-mojo-pom.xml")).execute();
+        JsonNode parameters = mapper.readTree(new File("target/api-headers/open-api-specs-headers.json"))
+            .get("paths").get("/items").get("get").get("parameters");
+        List<String> logTokens = new ArrayList<>();
+        List<String> accepts = new ArrayList<>();
+        for (JsonNode parameter : parameters) {
+            if ("x-log-token".equalsIgnoreCase(parameter.get("name").asText())) {
+                logTokens.add(parameter.get("name").asText());
+                assertTrue("The existing header must be complemented", parameter.has("description"));
+            } else if ("Accept".equals(parameter.get("name").asText())) {
+                accepts.add(parameter.get("in").asText());
+            }
+        }
+        assertEquals("Headers must be matched regardless of case", Collections.singletonList("x-log-token"), logTokens);
+        assertEquals("A query parameter must not be taken for the header", Arrays.asList("query", "header"), accepts);
+    }
+
+    @Test
+    public void testResponsesAddedByVerb() throws Exception {
+        for (String directory : new String[] {"target/api-plan", "target/plan-input"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode specification = mapper.createObjectNode();
+        specification.put("swagger", "2.0");
+        specification.putObject("info").put("title", "Items").put("version", "1.0.0");
+        ObjectNode path = specification.putObject("paths").putObject("/items/{id}");
+        for (String verb : new String[] {"get", "put", "post", "patch", "delete"}) {
+            ObjectNode operation = path.putObject(verb);
+            operation.put("operationId", verb + "Item");
+            operation.putObject("responses").putObject("default").put("description", "Unexpected error");
+        }
+        Path input = Paths.get("target/plan-input/items.json");
+        Files.createDirectories(input.getParent());
+        mapper.writeValue(input.toFile(), specification);
+
+        File file = new File("src/test/resources/plan-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        JsonNode processed = mapper.readTree(new File("target/api-plan/open-api-specs-plan.json"))
+            .get("paths").get("/items/{id}");
+        assertEquals(new TreeSet<>(Arrays.asList("200", "404", "501", "default")), codes(processed.get("get")));
+        assertEquals(new TreeSet<>(Arrays.asList("200", "201", "404", "501", "default")), codes(processed.get("put")));
+        assertEquals(new TreeSet<>(Arrays.asList("200", "201", "404", "501", "default")), codes(processed.get("post")));
+        assertEquals(new TreeSet<>(Arrays.asList("200", "404", "422", "default")), codes(processed.get("patch")));
+        assertEquals(new TreeSet<>(Arrays.asList("200", "204", "404", "default")), codes(processed.get("delete")));
+
+        Filter filter = new Filter();
+        filter.setExcludeOperationIds(Collections.singletonList("getItem"));
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "outputFilename", "open-api-specs-plan-filtered");
+        rule.setVariableValueToObject(mojo, "filter", filter);
+        mojo.execute();
+        JsonNode filtered = mapper.readTree(new File("target/api-plan/open-api-specs-plan-filtered.json"))
+            .get("paths").get("/items/{id}");
+        assertEquals("Excluded operations must be untouched", Collections.singleton("default"),
+            codes(filtered.get("get")));
+        assertEquals("Verb specific responses must be added when the first operation is excluded",
+            codes(processed.get("put")), codes(filtered.get("put")));
+        assertEquals(codes(processed.get("delete")), codes(filtered.get("delete")));
+    }
+
+    private static Set<String> codes(JsonNode operation) {
+        Set<String> codes = new TreeSet<>();
+        for (Iterator<String> names = operation.get("responses").fieldNames(); names.hasNext(); ) {
+            codes.add(names.next());
+        }
+        return codes;
+    }
+
+    @Test
+    public void testIncrementalSkipsUnchangedInput() throws Exception {
+        Path output = Paths.get("target/api-incremental");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/incremental-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        File json = new File("target/api-incremental/open-api-specs-incremental.json");
+        assertTrue(json.exists());
+        assertTrue(new File("target/api-incremental/open-api-specs-incremental.build-state").exists());
+        assertTrue(json.setLastModified(0));
+        rule.lookupMojo("postprocessor", file).execute();
+        assertEquals("An unchanged input must not be processed again", 0, json.lastModified());
+    }
+
+    @Test
+    public void testIncrementalFollowsReferences() throws Exception {
+        for (String directory : new String[] {"target/api-references", "target/references-input"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode specification = (ObjectNode) mapper.readTree(new File("sample-api/petstore.json"));
+        ObjectNode definitions = mapper.createObjectNode();
+        definitions.set("Category", ((ObjectNode) specification.get("definitions")).remove("Category"));
+        Path input = Paths.get("target/references-input");
+        Files.createDirectories(input);
+        String referring = mapper.writeValueAsString(specification)
+            .replace("\"#/definitions/Category\"", "\"definitions.json#/Category\"");
+        Files.write(input.resolve("petstore.json"), referring.getBytes(StandardCharsets.UTF_8));
+        mapper.writeValue(input.resolve("definitions.json").toFile(), definitions);
+
+        File file = new File("src/test/resources/references-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        File json = new File("target/api-references/open-api-specs-references.json");
+        assertTrue(mapper.readTree(json).get("definitions").has("Category"));
+
+        ((ObjectNode) definitions.get("Category")).put("description", "A category of pets");
+        mapper.writeValue(input.resolve("definitions.json").toFile(), definitions);
+        rule.lookupMojo("postprocessor", file).execute();
+        assertEquals("The change of the referenced document must be post processed", "A category of pets",
+            mapper.readTree(json).get("definitions").get("Category").get("description").asText());
+    }
+
+    @Test
+    public void testBatchPostProcessed() throws Exception {
+        Path output = Paths.get("target/api-batch");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/batch-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        mojo.execute();
+        File yaml = new File("target/api-batch/petstore-post-processed.yaml");
+        assertTrue(yaml.exists());
+        File json = new File("target/api-batch/petstore-post-processed.json");
+        assertTrue(json.exists());
+    }
+
+    @Test
+    public void testBatchIgnoresItsOutputs() throws Exception {
+        File file = new File("src/test/resources/batch-outputs-post-processor-mojo-pom.xml");
+        Path directory = Paths.get("target/batch-outputs");
+        for (String outputDirectory : new String[] {"target/batch-outputs", "target/batch-outputs/api"}) {
+            if (Files.exists(directory)) {
+                Files.walkFileTree(directory, new DeleteVisitor());
+            }
+            Files.createDirectories(directory);
+            Files.copy(Paths.get("sample-api/petstore.json"), directory.resolve("petstore.json"));
+            for (int run = 0; run < 2; run++) {
+                Mojo mojo = rule.lookupMojo("postprocessor", file);
+                rule.setVariableValueToObject(mojo, "outputDirectory", new File(outputDirectory));
+                mojo.execute();
+            }
+            try (Stream<Path> files = Files.walk(directory)) {
+                assertEquals("The outputs in " + outputDirectory + " must not be post processed as specifications",
+                    Arrays.asList("petstore-post-processed.json", "petstore-post-processed.yaml"),
+                    files.map(Path::getFileName).map(Path::toString)
+                        .filter(name -> name.startsWith("petstore-") && !name.endsWith(".build-state"))
+                        .sorted().collect(Collectors.toList()));
+            }
+        }
+
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "outputSuffix", "");
+        try {
+            mojo.execute();
+            fail("Outputs replacing the specifications must be a configuration error");
+        } catch (MojoFailureException e) {
+            assertTrue(e.getMessage().contains("outputSuffix"));
+        }
+    }
+
+    @Test
+    public void testMetricsWritten() throws Exception {
+        Path output = Paths.get("target/api-metrics");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/metrics-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        mojo.execute();
+        File metrics = new File("target/api-metrics/open-api-specs-metrics.metrics.json");
+        assertTrue(metrics.exists());
+        String metricsAsStr = new String(Files.readAllBytes(metrics.toPath()));
+        assertTrue("The pet store has 20 operations", metricsAsStr.contains("\"operations\" : 20"));
+        assertTrue("Bytes written must be reported per format", metricsAsStr.contains("\"json\""));
+    }
+
+    @Test
+    public void testCompressedPostProcessed() throws Exception {
+        Path output = Paths.get("target/api-compressed");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/compressed-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        mojo.execute();
+        File json = new File("target/api-compressed/open-api-specs-compressed.json");
+        assertTrue(json.exists());
+        assertTrue(new File("target/api-compressed/open-api-specs-compressed.yaml.gz").exists());
+        Path decompressed = output.resolve("decompressed.json");
+        try (InputStream in = new GZIPInputStream(new FileInputStream("target/api-compressed/open-api-specs-compressed.json.gz"))) {
+            Files.copy(in, decompressed);
+        }
+        assertArrayEquals("The compressed output must contain the output",
+            Files.readAllBytes(json.toPath()), Files.readAllBytes(decompressed));
+    }
+
+    @Test
+    public void testCanonicalLeavesUnchangedOutput() throws Exception {
+        Path output = Paths.get("target/api-canonical");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/canonical-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        File json = new File("target/api-canonical/open-api-specs-canonical.json");
+        assertTrue(json.exists());
+        String apiAsStr = new String(Files.readAllBytes(json.toPath()));
+        assertTrue("Paths must be sorted", apiAsStr.indexOf("\"/pet\"") < apiAsStr.indexOf("\"/store/inventory\""));
+        assertTrue(json.setLastModified(0));
+        rule.lookupMojo("postprocessor", file).execute();
+        assertEquals("An output with unchanged content must not be replaced", 0, json.lastModified());
+    }
+
+    @Test
+    public void testSingleFormatSameAsSeveral() throws Exception {
+        Path output = Paths.get("target/api-formats");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/formats-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        assertFalse(Files.exists(output.resolve("open-api-specs-formats.yaml")));
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "outputFormats", EnumSet.of(OutputFormat.JSON, OutputFormat.YAML));
+        rule.setVariableValueToObject(mojo, "outputFilename", "open-api-specs-formats-several");
+        mojo.execute();
+        byte[] json = Files.readAllBytes(output.resolve("open-api-specs-formats.json"));
+        assertArrayEquals("JSON written straight from the model must be the same as written from the tree",
+            Files.readAllBytes(output.resolve("open-api-specs-formats-several.json")), json);
+        assertTrue("Decimals must be written as in the input",
+            new String(json, StandardCharsets.UTF_8).contains("\"maximum\":10,"));
+    }
+
+    @Test
+    public void testBinaryFormatsWritten() throws Exception {
+        Path output = Paths.get("target/api-binary");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/binary-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode json = mapper.readTree(new File("target/api-binary/open-api-specs-binary.json"));
+        JsonNode cbor = new ObjectMapper(new CBORFactory()).readTree(new File("target/api-binary/open-api-specs-binary.cbor"));
+        JsonNode smile = new ObjectMapper(new SmileFactory()).readTree(new File("target/api-binary/open-api-specs-binary.smile"));
+        Comparator<JsonNode> numerically = (expected, actual) -> expected.equals(actual)
+            || expected.isNumber() && actual.isNumber() && expected.decimalValue().compareTo(actual.decimalValue()) == 0
+            ? 0 : 1;
+        assertTrue("CBOR must have the same content as JSON", json.equals(numerically, cbor));
+        assertTrue("Smile must have the same content as JSON", json.equals(numerically, smile));
+    }
+
+    @Test
+    public void testPatchWrittenInstead() throws Exception {
+        Path output = Paths.get("target/api-patch");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/patch-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        assertFalse(new File("target/api-patch/open-api-specs-patch.json").exists());
+        File patch = new File("target/api-patch/open-api-specs-patch.patch.json");
+        assertTrue(patch.exists());
+        String patchAsStr = new String(Files.readAllBytes(patch.toPath()));
+        assertTrue(patchAsStr.startsWith("[{\"op\":\"add\",\"path\":\"/paths/~1pet/"));
+        assertTrue(patchAsStr.contains("{\"op\":\"add\",\"path\":\"/paths/~1pet/post/responses/201\""));
+        assertTrue(patchAsStr.contains("\"path\":\"/paths/~1pet/post/parameters/-\""));
+    }
+
+    @Test
+    public void testSharedComponentsReferenced() throws Exception {
+        Path output = Paths.get("target/api-shared");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/shared-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        File json = new File("target/api-shared/open-api-specs-shared.json");
+        assertTrue(json.exists());
+        String apiAsStr = new String(Files.readAllBytes(json.toPath()));
+        assertTrue(apiAsStr.contains("\"404\":{\"$ref\":\"#/responses/Standard404\"}"));
+        assertTrue(apiAsStr.contains("{\"$ref\":\"#/parameters/StandardXLogToken\"}"));
+        assertTrue(apiAsStr.contains("\"Standard404\":{\"description\":\"Resource Not Found\""));
+        assertTrue(apiAsStr.contains("\"StandardXLogToken\":{\"name\":\"X-Log-Token\",\"in\":\"header\""));
+        assertTrue("Complemented responses must stay in the operation", apiAsStr.contains("\"description\":\"successful operation\""));
+    }
+
+    @Test
+    public void testCachedSpecificationUnchanged() throws Exception {
+        for (String directory : new String[] {"target/api-cache", "target/cache-input"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        Path input = Paths.get("target/cache-input/petstore.json");
+        Files.createDirectories(input.getParent());
+        Files.copy(Paths.get("sample-api/petstore.json"), input);
+        File file = new File("src/test/resources/cache-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        File json = new File("target/api-cache/open-api-specs-cache.json");
+        assertTrue(json.exists());
+        byte[] parsed = Files.readAllBytes(json.toPath());
+        rule.lookupMojo("postprocessor", file).execute();
+        assertArrayEquals("Post processing a cached specification must give the same output",
+            parsed, Files.readAllBytes(json.toPath()));
+
+        long modified = input.toFile().lastModified();
+        String specification = new String(Files.readAllBytes(input), StandardCharsets.UTF_8);
+        Files.write(input, specification.replace("Finds Pets by status", "Finds Pets by STATUS")
+            .getBytes(StandardCharsets.UTF_8));
+        assertTrue(input.toFile().setLastModified(modified));
+        rule.lookupMojo("postprocessor", file).execute();
+        assertEquals("A change keeping the size and modification time must be parsed", "Finds Pets by STATUS",
+            new ObjectMapper().readTree(json).get("paths").get("/pet/findByStatus").get("get").get("summary").asText());
+    }
+
+    @Test
+    public void testFilteredOperationsUntouched() throws Exception {
+        Path output = Paths.get("target/api-filter");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/filter-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        File json = new File("target/api-filter/open-api-specs-filter.json");
+        assertTrue(json.exists());
+        JsonNode paths = new ObjectMapper().readTree(json).get("paths");
+        assertTrue(paths.get("/pet").get("post").get("responses").has("500"));
+        assertFalse("Excluded paths must be untouched", paths.get("/store/inventory").get("get").get("responses").has("500"));
+        assertTrue(paths.get("/user/{username}").get("get").get("responses").has("500"));
+        assertFalse("Excluded operations must be untouched",
+            paths.get("/user/{username}").get("delete").get("responses").has("500"));
+    }
+
+    @Test
+    public void testFilterPatternsMatched() throws Exception {
+        Filter filter = new Filter();
+        filter.setIncludes(Arrays.asList("/pet/*", "/store/**", "/user/create*", "%regex[/user/log(in|out)]"));
+        filter.setExcludes(Collections.singletonList("/store/order/{order?d}"));
+        File file = new File("src/test/resources/filter-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "filter", filter);
+        rule.setVariableValueToObject(mojo, "outputFilename", "open-api-specs-filter-patterns");
+        mojo.execute();
+        JsonNode paths = new ObjectMapper().readTree(new File("target/api-filter/open-api-specs-filter-patterns.json"))
+            .get("paths");
+        Set<String> processed = new HashSet<>();
+        for (Iterator<String> keys = paths.fieldNames(); keys.hasNext(); ) {
+            String key = keys.next();
+            if (paths.get(key).elements().next().get("responses").has("500")) {
+                processed.add(key);
+            }
+        }
+        assertEquals(new HashSet<>(Arrays.asList("/pet/findByStatus", "/pet/findByTags", "/pet/{petId}",
+            "/store/inventory", "/store/order", "/user/createWithArray", "/user/createWithList", "/user/login",
+            "/user/logout")), processed);
+    }
+
+    @Test
+    public void testUnchangedPathsReused() throws Exception {
+        for (String directory : new String[] {"target/api-paths", "target/paths-input"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        Path input = Paths.get("target/paths-input/petstore.json");
+        Files.createDirectories(input.getParent());
+        Files.copy(Paths.get("sample-api/petstore.json"), input);
+        File file = new File("src/test/resources/paths-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        assertTrue(new File("target/api-paths/open-api-specs-paths.paths").exists());
+        String specification = new String(Files.readAllBytes(input), "UTF-8");
+        Files.write(input, specification.replace("Finds Pets by status", "Finds Pets by their status").getBytes("UTF-8"));
+        rule.lookupMojo("postprocessor", file).execute();
+        JsonNode paths = new ObjectMapper().readTree(new File("target/api-paths/open-api-specs-paths.json")).get("paths");
+        assertEquals("Changed paths must be processed again", "Finds Pets by their status",
+            paths.get("/pet/findByStatus").get("get").get("summary").asText());
+        assertTrue(paths.get("/pet/findByStatus").get("get").get("responses").has("500"));
+        assertTrue("Unchanged paths must be reused as processed", paths.get("/pet").get("post").get("responses").has("500"));
+
+        specification = new String(Files.readAllBytes(input), "UTF-8");
+        Files.write(input, specification.replace("Place an order for a pet", "Order a pet").getBytes("UTF-8"));
+        rule.lookupMojo("postprocessor", file).execute();
+        Path json = Paths.get("target/api-paths/open-api-specs-paths.json");
+        byte[] reused = Files.readAllBytes(json);
+        Files.walkFileTree(Paths.get("target/api-paths"), new DeleteVisitor());
+        rule.lookupMojo("postprocessor", file).execute();
+        assertArrayEquals("Reused paths must be written as if every path was processed", Files.readAllBytes(json), reused);
+    }
+
+    @Test
+    public void testVerifyReportsViolations() throws Exception {
+        Path output = Paths.get("target/api-verify");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/verify-post-processor-mojo-pom.xml");
+        try {
+            rule.lookupMojo("verify", file).execute();
+            fail("The input lacks the standard responses and headers");
+        } catch (MojoFailureException e) {
+            assertTrue(e.getMessage().contains("do not conform"));
+        }
+        rule.lookupMojo("postprocessor", file).execute();
+        Mojo verify = rule.lookupMojo("verify", file);
+        rule.setVariableValueToObject(verify, "inputDirectory", output.toFile());
+        rule.setVariableValueToObject(verify, "inputFilename", "open-api-specs-verify");
+        verify.execute();
+        assertEquals("Nothing must be written when verifying", 1,
+            output.toFile().list((dir, name) -> name.endsWith(".json")).length);
+    }
+
+    @Test
+    public void testVerifyResolvesReferencedResponses() throws Exception {
+        Path output = Paths.get("target/api-verify-refs");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/verify-refs-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+        File processed = output.resolve("open-api-specs-verify-refs.json").toFile();
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode specification = (ObjectNode) mapper.readTree(processed);
+        ObjectNode responses = specification.with("responses");
+        ObjectNode pet = (ObjectNode) specification.get("paths").get("/pet/{petId}");
+        ObjectNode get = (ObjectNode) pet.get("get").get("responses");
+        responses.set("PetNotFound", get.get("404"));
+        get.putObject("404").put("$ref", "#/responses/PetNotFound");
+        responses.putObject("Missing").put("description", "Not found");
+        ((ObjectNode) pet.get("delete").get("responses")).putObject("404").put("$ref", "#/responses/Missing");
+        mapper.writeValue(processed, specification);
+        Mojo verify = rule.lookupMojo("verify", file);
+        rule.setVariableValueToObject(verify, "inputDirectory", output.toFile());
+        rule.setVariableValueToObject(verify, "inputFilename", "open-api-specs-verify-refs");
+        try {
+            verify.execute();
+            fail("The response referred to by DELETE /pet/{petId} lacks the standard headers");
+        } catch (MojoFailureException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("1 operations of 1 specifications"));
+            assertTrue(e.getMessage(), e.getMessage().endsWith("having 1 violations in total"));
+        }
+    }
+
+    @Test
+    public void testModulesAggregated() throws Exception {
+        for (String directory : new String[] {"target/api-aggregate", "target/aggregate"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode petstore = (ObjectNode) mapper.readTree(new File("sample-api/petstore.json"));
+        ObjectNode pets = split(petstore, false);
+        ObjectNode users = split(petstore, true);
+        List<MavenProject> modules = Arrays.asList(module("pets", pets), module("users", users));
+
+        File file = new File("src/test/resources/aggregate-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("aggregate", file);
+        rule.setVariableValueToObject(mojo, "reactorProjects", modules);
+        mojo.execute();
+        JsonNode paths = mapper.readTree(new File("target/api-aggregate/open-api-specs-aggregate.json")).get("paths");
+        assertTrue(paths.get("/pet").get("post").get("responses").has("500"));
+        assertTrue(paths.get("/user/{username}").get("get").get("responses").has("500"));
+
+        ((ObjectNode) users.get("definitions").get("Order")).put("description", "An order of the users");
+        modules = Arrays.asList(module("pets", pets), module("users", users));
+        mojo = rule.lookupMojo("aggregate", file);
+        rule.setVariableValueToObject(mojo, "reactorProjects", modules);
+        try {
+            mojo.execute();
+            fail("The modules define the Order differently");
+        } catch (MojoFailureException e) {
+            assertTrue(e.getMessage().contains("defined differently"));
+        }
+    }
+
+    private static final List<String> USER_PATHS = Arrays.asList("/user", "/user/login", "/user/logout",
+        "/user/{username}", "/user/createWithArray", "/user/createWithList");
+
+    /**
+     * The pet store without the user paths, or with the user paths only, as the specification of a module.
+     */
+    private static ObjectNode split(ObjectNode petstore, boolean users) {
+        ObjectNode module = petstore.deepCopy();
+        ObjectNode paths = (ObjectNode) module.get("paths");
+        if (users) {
+            paths.retain(USER_PATHS);
+        } else {
+            paths.remove(USER_PATHS);
+        }
+        return module;
+    }
+
+    private static MavenProject module(String name, JsonNode specification) throws IOException {
+        File directory = new File("target/aggregate/" + name);
+        Files.createDirectories(directory.toPath().resolve("api"));
+        new ObjectMapper().writeValue(new File(directory, "api/open-api.json"), specification);
+        MavenProject module = new MavenProject();
+        module.setGroupId("io.openapitools.test");
+        module.setArtifactId(name);
+        module.setFile(new File(directory, "pom.xml"));
+        return module;
+    }
+
+    @Test
+    public void testAggregatedSpecificationsUnchanged() throws Exception {
+        Path output = Paths.get("target/api-aggregate-cache");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode petstore = (ObjectNode) mapper.readTree(new File("sample-api/petstore.json"));
+        ObjectNode pets = split(petstore, false);
+        ObjectNode users = split(petstore, true);
+        ((ObjectNode) users.get("definitions")).putObject("Account").put("type", "object");
+        users.withArray("tags").addObject().put("name", "account");
+        List<MavenProject> modules = Arrays.asList(module("cached-pets", pets), module("cached-users", users));
+
+        File file = new File("src/test/resources/aggregate-cache-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("aggregate", file);
+        rule.setVariableValueToObject(mojo, "reactorProjects", modules);
+        mojo.execute();
+        JsonNode aggregated = mapper.readTree(new File("target/api-aggregate-cache/open-api-specs-aggregate.json"));
+        assertTrue(aggregated.get("definitions").has("Account"));
+
+        Mojo postprocessor = rule.lookupMojo("postprocessor", new File("src/test/resources/cache-post-processor-mojo-pom.xml"));
+        rule.setVariableValueToObject(postprocessor, "inputDirectory", new File("target/aggregate/cached-pets/api"));
+        rule.setVariableValueToObject(postprocessor, "inputFilename", "open-api");
+        rule.setVariableValueToObject(postprocessor, "outputDirectory", output.toFile());
+        rule.setVariableValueToObject(postprocessor, "outputFilename", "open-api-specs-pets");
+        postprocessor.execute();
+        JsonNode specification = mapper.readTree(new File("target/api-aggregate-cache/open-api-specs-pets.json"));
+        assertFalse("The cached specification of a module must not be changed by aggregating it",
+            specification.get("definitions").has("Account"));
+        assertFalse(specification.get("paths").has("/user"));
+        for (JsonNode tag : specification.get("tags")) {
+            assertFalse(tag.get("name").asText().equals("account"));
+        }
+    }
+
+    @Test
+    public void testInputReadFromArtifact() throws Exception {
+        for (String directory : new String[] {"target/api-artifact", "target/artifact"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        MavenProject project = dependingOn(Paths.get("sample-api/petstore.json"));
+
+        File file = new File("src/test/resources/artifact-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "project", project);
+        mojo.execute();
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode processed = mapper.readTree(new File("target/api-artifact/open-api-specs-artifact.json"));
+        assertTrue(processed.get("paths").get("/pet").get("post").get("responses").has("505"));
+
+        mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "project", project);
+        rule.setVariableValueToObject(mojo, "streaming", true);
+        rule.setVariableValueToObject(mojo, "outputFilename", "open-api-specs-artifact-streamed");
+        mojo.execute();
+        assertEquals(processed.get("paths"),
+            mapper.readTree(new File("target/api-artifact/open-api-specs-artifact-streamed.json")).get("paths"));
+        assertFalse("The specification must not be extracted", Files.exists(Paths.get("target/artifact/api")));
+    }
+
+    @Test
+    public void testVerifyReadsInputArtifact() throws Exception {
+        for (String directory : new String[] {"target/api-artifact", "target/artifact"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        File file = new File("src/test/resources/artifact-post-processor-mojo-pom.xml");
+        Mojo verify = rule.lookupMojo("verify", file);
+        rule.setVariableValueToObject(verify, "project", dependingOn(Paths.get("sample-api/petstore.json")));
+        rule.setVariableValueToObject(verify, "inputDirectory", new File("src/test/resources"));
+        try {
+            verify.execute();
+            fail("The entry of the artifact lacks the standard responses and headers");
+        } catch (MojoFailureException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("of 1 specifications do not conform"));
+        }
+
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "project", dependingOn(Paths.get("sample-api/petstore.json")));
+        mojo.execute();
+        verify = rule.lookupMojo("verify", file);
+        rule.setVariableValueToObject(verify, "project",
+            dependingOn(Paths.get("target/api-artifact/open-api-specs-artifact.json")));
+        verify.execute();
+    }
+
+    @Test
+    public void testInputArtifactRejectedWhereNotApplied() throws Exception {
+        File file = new File("src/test/resources/artifact-post-processor-mojo-pom.xml");
+        FileSet specifications = new FileSet();
+        specifications.setDirectory("sample-api");
+        Mojo batch = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(batch, "specifications", specifications);
+        Mojo verify = rule.lookupMojo("verify", file);
+        rule.setVariableValueToObject(verify, "specifications", specifications);
+        Mojo aggregate = rule.lookupMojo("aggregate", file);
+        rule.setVariableValueToObject(aggregate, "reactorProjects", Collections.emptyList());
+        for (Mojo mojo : Arrays.asList(batch, verify, aggregate, rule.lookupMojo("watch", file))) {
+            try {
+                mojo.execute();
+                fail("The inputArtifact must not be ignored by " + mojo.getClass().getSimpleName());
+            } catch (MojoFailureException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith(
+                    "The inputArtifact io.openapitools.test:specifications cannot be used"));
+            }
+        }
+    }
+
+    /**
+     * A project depending on a jar which holds the specification as the entry "api/petstore.json".
+     */
+    private static MavenProject dependingOn(Path specification) throws IOException {
+        File jar = new File("target/artifact/specifications-1.0.0.jar");
+        Files.createDirectories(jar.getParentFile().toPath());
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar.toPath()))) {
+            out.putNextEntry(new ZipEntry("api/petstore.json"));
+            Files.copy(specification, out);
+            out.closeEntry();
+        }
+        Artifact specifications = new DefaultArtifact("io.openapitools.test", "specifications", "1.0.0", "compile", "jar",
+            null, new DefaultArtifactHandler("jar"));
+        specifications.setFile(jar);
+        MavenProject project = new MavenProject();
+        project.setArtifacts(Collections.singleton(specifications));
+        return project;
+    }
+
+    @Test
+    public void testInputLoadedByContentAndReferences() throws Exception {
+        for (String directory : new String[] {"target/api-loader", "target/loader-input"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode sample = mapper.readTree(new File("sample-api/petstore.json"));
+        Path input = Paths.get("target/loader-input");
+        Files.createDirectories(input);
+        new ObjectMapper(new YAMLFactory()).writeValue(input.resolve("petstore").toFile(), sample);
+
+        File file = new File("src/test/resources/loader-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "inputDirectory", new File("sample-api"));
+        rule.setVariableValueToObject(mojo, "outputFilename", "open-api-specs-loader-sample");
+        mojo.execute();
+        JsonNode expected = mapper.readTree(new File("target/api-loader/open-api-specs-loader-sample.json"));
+        rule.lookupMojo("postprocessor", file).execute();
+        assertEquals("YAML without extension must be recognized by its content",
+            expected, mapper.readTree(new File("target/api-loader/open-api-specs-loader.json")));
+
+        ObjectNode referring = sample.deepCopy();
+        ObjectNode definitions = mapper.createObjectNode();
+        definitions.set("Category", ((ObjectNode) referring.get("definitions")).remove("Category"));
+        File jar = input.resolve("specifications-1.0.0.jar").toFile();
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar.toPath()))) {
+            out.putNextEntry(new ZipEntry("api/petstore.json"));
+            out.write(mapper.writeValueAsString(referring)
+                .replace("\"#/definitions/Category\"", "\"definitions.json#/Category\"")
+                .getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("api/definitions.json"));
+            out.write(mapper.writeValueAsBytes(definitions));
+            out.closeEntry();
+        }
+        Artifact specifications = new DefaultArtifact("io.openapitools.test", "specifications", "1.0.0", "compile", "jar",
+            null, new DefaultArtifactHandler("jar"));
+        specifications.setFile(jar);
+        MavenProject project = new MavenProject();
+        project.setArtifacts(Collections.singleton(specifications));
+        mojo = rule.lookupMojo("postprocessor", file);
+        rule.setVariableValueToObject(mojo, "project", project);
+        rule.setVariableValueToObject(mojo, "inputArtifact", "io.openapitools.test:specifications");
+        rule.setVariableValueToObject(mojo, "inputEntry", "api/petstore.json");
+        rule.setVariableValueToObject(mojo, "outputFilename", "open-api-specs-loader-artifact");
+        mojo.execute();
+        JsonNode processed = mapper.readTree(new File("target/api-loader/open-api-specs-loader-artifact.json"));
+        assertEquals("References between entries of an archive must be resolved",
+            expected.get("definitions"), processed.get("definitions"));
+        assertEquals(expected.get("paths"), processed.get("paths"));
+    }
+
+    @Test
+    public void testProfilesProcessedFromSingleParse() throws Exception {
+        Path output = Paths.get("target/api-profiles");
+        if (Files.exists(output)) {
+            Files.walkFileTree(output, new DeleteVisitor());
+        }
+        File file = new File("src/test/resources/profiles-post-processor-mojo-pom.xml");
+        rule.lookupMojo("postprocessor", file).execute();
+
+        for (String profile : new String[] {"minimal", "standard"}) {
+            Mojo mojo = rule.lookupMojo("postprocessor", file);
+            rule.setVariableValueToObject(mojo, "profiles", null);
+            rule.setVariableValueToObject(mojo, "packages", Collections.singleton(profile));
+            rule.setVariableValueToObject(mojo, "outputFilename", "open-api-specs-" + profile + "-alone");
+            mojo.execute();
+            for (String extension : new String[] {".json", ".yaml"}) {
+                assertArrayEquals("The " + profile + " profile must be the same as processing it alone",
+                    Files.readAllBytes(output.resolve("open-api-specs-" + profile + "-alone" + extension)),
+                    Files.readAllBytes(output.resolve("open-api-specs-" + profile + extension)));
+            }
+        }
+        JsonNode minimal = new ObjectMapper().readTree(output.resolve("open-api-specs-minimal.json").toFile());
+        assertFalse(minimal.get("paths").get("/pet").get("post").get("responses").has("505"));
+    }
+
+    @Test
+    public void testProfilesRejectedWhereNotApplied() throws Exception {
+        File file = new File("src/test/resources/profiles-post-processor-mojo-pom.xml");
+        Mojo batch = rule.lookupMojo("postprocessor", file);
+        FileSet specifications = new FileSet();
+        specifications.setDirectory("sample-api");
+        rule.setVariableValueToObject(batch, "specifications", specifications);
+        Mojo aggregate = rule.lookupMojo("aggregate", file);
+        rule.setVariableValueToObject(aggregate, "reactorProjects", Collections.emptyList());
+        for (Mojo mojo : Arrays.asList(batch, rule.lookupMojo("verify", file), aggregate)) {
+            try {
+                mojo.execute();
+                fail("The profiles must not be ignored by " + mojo.getClass().getSimpleName());
+            } catch (MojoFailureException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("The profiles [minimal, standard] cannot be used"));
+            }
+        }
+    }
+
+    @Test
+    public void testWatchIgnoresItsOutputs() throws Exception {
+        Path directory = Paths.get("target/watch-batch");
+        if (Files.exists(directory)) {
+            Files.walkFileTree(directory, new DeleteVisitor());
+        }
+        Path input = directory.resolve("petstore.json");
+        Files.createDirectories(directory);
+        Files.copy(Paths.get("sample-api/petstore.json"), input);
+        File file = new File("src/test/resources/watch-batch-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("watch", file);
+        AtomicInteger runs = new AtomicInteger();
+        mojo.setLog(new SystemStreamLog() {
+            @Override
+            public void info(CharSequence content) {
+                if (content.toString().startsWith("Post processed 1 of 1 specifications")) {
+                    runs.incrementAndGet();
+                }
+                super.info(content);
+            }
+        });
+        Thread watch = new Thread(() -> {
+            try {
+                mojo.execute();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        watch.start();
+        try {
+            Path json = directory.resolve("petstore-post-processed.json");
+            assertTrue("The specifications must be post processed when watching starts", await(json, "Swagger Petstore"));
+            Thread.sleep(1000);
+            assertEquals("Writing the outputs must not trigger post processing", 1, runs.get());
+            String specification = new String(Files.readAllBytes(input), "UTF-8");
+            Files.write(input, specification.replace("Swagger Petstore", "Watched Petstore").getBytes("UTF-8"));
+            assertTrue("A changed specification must be post processed again", await(json, "Watched Petstore"));
+            Thread.sleep(1000);
+            assertEquals("Writing the outputs must not trigger post processing", 2, runs.get());
+        } finally {
+            watch.interrupt();
+            watch.join(10000);
+        }
+        assertFalse(watch.isAlive());
+        assertFalse(Files.exists(directory.resolve("petstore-post-processed-post-processed.json")));
+    }
+
+    @Test
+    public void testWatchReprocessesChangedInput() throws Exception {
+        for (String directory : new String[] {"target/api-watch", "target/watch-input"}) {
+            Path output = Paths.get(directory);
+            if (Files.exists(output)) {
+                Files.walkFileTree(output, new DeleteVisitor());
+            }
+        }
+        Path input = Paths.get("target/watch-input/petstore.json");
+        Files.createDirectories(input.getParent());
+        Files.copy(Paths.get("sample-api/petstore.json"), input);
+        File file = new File("src/test/resources/watch-post-processor-mojo-pom.xml");
+        Mojo mojo = rule.lookupMojo("watch", file);
+        Thread watch = new Thread(() -> {
+            try {
+                mojo.execute();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        watch.start();
+        try {
+            Path json = Paths.get("target/api-watch/open-api-specs-watch.json");
+            assertTrue("The specification must be post processed when watching starts", await(json, "Swagger Petstore"));
+            String specification = new String(Files.readAllBytes(input), "UTF-8");
+            Files.write(input, specification.replace("Swagger Petstore", "Watched Petstore").getBytes("UTF-8"));
+            assertTrue("A changed specification must be post processed again", await(json, "Watched Petstore"));
+        } finally {
+            watch.interrupt();
+            watch.join(10000);
+        }
+        assertFalse(watch.isAlive());
+    }
+
+    @Test
+    public void testAddedTemplatesCannotBeChanged() throws Exception {
+        Operation operation = new Operation();
+        Headers.addStandardParameters(operation);
+        Responses.addResponseCodes(operation, Collections.singleton("404"));
+        Parameter header = operation.getParameters().get(0);
+        Response response = operation.getResponses().get("404");
+        Property responseHeader = response.getHeaders().values().iterator().next();
+        List<Runnable> changes = Arrays.asList(
+            () -> header.setDescription("changed"),
+            () -> header.setRequired(false),
+            () -> response.setDescription("changed"),
+            () -> response.addHeader("X-Changed", new StringProperty()),
+            () -> responseHeader.setDescription("changed"));
+        for (Runnable change : changes) {
+            try {
+                change.run();
+                fail("The templates are shared by every operation they are added to");
+            } catch (UnsupportedOperationException e) {
+                assertTrue(e.getMessage().endsWith("copy it before changing it"));
+            }
+        }
+
+        Operation other = new Operation();
+        Headers.addStandardParameters(other);
+        Responses.addResponseCodes(other, Collections.singleton("404"));
+        assertEquals(header.getDescription(), other.getParameters().get(0).getDescription());
+        assertEquals("Resource Not Found", other.getResponses().get("404").getDescription());
+    }
+
+    private static boolean await(Path file, String content) throws Exception {
+        for (int i = 0; i < 300; i++) {
+            if (Files.exists(file) && new String(Files.readAllBytes(file), "UTF-8").contains(content)) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
     private static class DeleteVisitor extends SimpleFileVisitor<Path> {
         @Override
         public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
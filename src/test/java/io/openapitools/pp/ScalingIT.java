@@ -0,0 +1,190 @@
+package io.openapitools.pp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.openapitools.api.pp.APIPostProcessorMojo;
+import io.openapitools.api.pp.OutputFormat;
+import org.codehaus.plexus.util.ReflectionUtils;
+import org.junit.Test;
+
+/**
+ * Runs the post processing of generated specifications of increasing size in a forked JVM with a heap limit growing
+ * linearly with the number of operations, and fails if a run exceeds its heap, allocates more bytes per operation than
+ * the budget or allocates noticeably more per operation for the largest specification than for the smallest. The sizes
+ * are given by the {@code scaling.operations} property, which is extended to 100k operations by the scaling profile.
+ * Streaming builds run with a fixed heap limit, as only a single path item is held in memory at a time.
+ */
+public class ScalingIT {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int BASE_HEAP_MB = 48;
+    private static final int HEAP_KB_PER_OPERATION = 48;
+    private static final int STREAMING_HEAP_MB = 24;
+    private static final long STREAMING_ALLOCATION_BUDGET = 100_000L;
+    private static final Map<OutputFormat, Long> ALLOCATION_BUDGET = new LinkedHashMap<>();
+
+    static {
+        ALLOCATION_BUDGET.put(OutputFormat.JSON, 90_000L);
+        ALLOCATION_BUDGET.put(OutputFormat.YAML, 220_000L);
+    }
+
+    /**
+     * Allocations per operation for the largest specification may be this much higher than for the smallest.
+     */
+    private static final double LINEARITY = 1.5;
+
+    @Test
+    public void testAllocationsScaleLinearly() throws Exception {
+        for (Map.Entry<OutputFormat, Long> budget : ALLOCATION_BUDGET.entrySet()) {
+            assertAllocationsLinear(budget.getKey(), Mode.PARSED, budget.getValue());
+        }
+    }
+
+    @Test
+    public void testStreamingAllocationsScaleLinearly() throws Exception {
+        assertAllocationsLinear(OutputFormat.JSON, Mode.STREAMING, STREAMING_ALLOCATION_BUDGET);
+    }
+
+    @Test
+    public void testStreamingHeapIndependentOfOperations() throws Exception {
+        File directory = new File("target/scaling");
+        directory.mkdirs();
+        for (int operations : sizes()) {
+            fork(specification(directory, operations), OutputFormat.JSON, Mode.INCREMENTAL_STREAMING, operations);
+        }
+    }
+
+    private static void assertAllocationsLinear(OutputFormat format, Mode mode, long budget) throws Exception {
+        List<Integer> sizes = sizes();
+        File directory = new File("target/scaling");
+        directory.mkdirs();
+        String name = (mode == Mode.PARSED ? "" : "Streaming ") + format;
+        List<Long> perOperation = new ArrayList<>();
+        for (int operations : sizes) {
+            long allocated = fork(specification(directory, operations), format, mode, operations);
+            perOperation.add(allocated / operations);
+            assertTrue(name + " post processing of " + operations + " operations allocated " + allocated / operations
+                    + " bytes per operation, the budget is " + budget,
+                allocated / operations <= budget);
+        }
+        long smallest = perOperation.get(0);
+        long largest = perOperation.get(perOperation.size() - 1);
+        assertTrue(name + " allocations per operation grew from " + smallest + " to " + largest
+            + " bytes between " + sizes.get(0) + " and " + sizes.get(sizes.size() - 1) + " operations",
+            largest <= smallest * LINEARITY);
+    }
+
+    private static File specification(File directory, int operations) throws IOException {
+        File specification = new File(directory, "specification-" + operations + ".json");
+        if (!specification.exists()) {
+            ObjectNode sample = (ObjectNode) MAPPER.readTree(new File("sample-api/petstore.json"));
+            MAPPER.writeValue(specification, SyntheticSpecification.generate(sample, operations));
+        }
+        return specification;
+    }
+
+    private static List<Integer> sizes() {
+        List<Integer> sizes = new ArrayList<>();
+        for (String size : System.getProperty("scaling.operations", "1000,10000").split(",")) {
+            sizes.add(Integer.valueOf(size.trim()));
+        }
+        Collections.sort(sizes);
+        return sizes;
+    }
+
+    /**
+     * Post processes the specification in a forked JVM, returning the bytes allocated by the post processing. The heap of
+     * a streaming build is the same for any number of operations.
+     */
+    private static long fork(File specification, OutputFormat format, Mode mode, int operations) throws Exception {
+        int heap = mode == Mode.PARSED ? BASE_HEAP_MB + operations * HEAP_KB_PER_OPERATION / 1024 : STREAMING_HEAP_MB;
+        ProcessBuilder builder = new ProcessBuilder(
+            new File(System.getProperty("java.home"), "bin/java").getPath(),
+            "-Xmx" + heap + "m",
+            "-XX:+ExitOnOutOfMemoryError",
+            "-cp", System.getProperty("java.class.path"),
+            Fork.class.getName(),
+            specification.getParent(), specification.getName().replace(".json", ""), format.name(),
+            mode.name());
+        builder.redirectErrorStream(true);
+        Process process = builder.start();
+        long allocated = -1;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line = reader.readLine(); null != line; line = reader.readLine()) {
+                if (line.startsWith(Fork.ALLOCATED)) {
+                    allocated = Long.parseLong(line.substring(Fork.ALLOCATED.length()));
+                }
+                output.append(line).append('\n');
+            }
+        }
+        assertEquals((mode == Mode.PARSED ? "" : "Streaming ") + format + " post processing of " + operations
+            + " operations failed within " + heap + "m heap\n"
+            + output, 0, process.waitFor());
+        assertTrue("No allocations reported\n" + output, allocated > 0);
+        return allocated;
+    }
+
+    /**
+     * How the specification is post processed by the forked JVM.
+     */
+    private enum Mode {
+        PARSED, STREAMING, INCREMENTAL_STREAMING
+    }
+
+    /**
+     * Runs the post processing in the forked JVM and reports the bytes allocated by the thread running it, which is the
+     * only thread involved when processing sequentially and writing a single format. An incremental streaming build
+     * runs twice, the second time without the output, as a build reading the state of the previous one would.
+     */
+    public static final class Fork {
+
+        static final String ALLOCATED = "allocated=";
+
+        public static void main(String[] args) throws Exception {
+            Mode mode = Mode.valueOf(args[3]);
+            File output = new File(args[0], (mode == Mode.PARSED ? args[2] : mode.name()).toLowerCase());
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long thread = Thread.currentThread().getId();
+            long start = threads.getThreadAllocatedBytes(thread);
+            mojo(args, output, mode).execute();
+            if (mode == Mode.INCREMENTAL_STREAMING) {
+                new File(output, args[1] + "-post-processed.json").delete();
+                mojo(args, output, mode).execute();
+            }
+            System.out.println(ALLOCATED + (threads.getThreadAllocatedBytes(thread) - start));
+        }
+
+        private static APIPostProcessorMojo mojo(String[] args, File output, Mode mode) throws Exception {
+            APIPostProcessorMojo mojo = new APIPostProcessorMojo();
+            ReflectionUtils.setVariableValueInObject(mojo, "packages", Collections.singleton("standard"));
+            ReflectionUtils.setVariableValueInObject(mojo, "inputDirectory", new File(args[0]));
+            ReflectionUtils.setVariableValueInObject(mojo, "inputFilename", args[1]);
+            ReflectionUtils.setVariableValueInObject(mojo, "outputDirectory", output);
+            ReflectionUtils.setVariableValueInObject(mojo, "outputFilename", args[1] + "-post-processed");
+            ReflectionUtils.setVariableValueInObject(mojo, "outputFormats",
+                Collections.singleton(OutputFormat.valueOf(args[2])));
+            ReflectionUtils.setVariableValueInObject(mojo, "streaming", mode != Mode.PARSED);
+            ReflectionUtils.setVariableValueInObject(mojo, "incremental", mode == Mode.INCREMENTAL_STREAMING);
+            ReflectionUtils.setVariableValueInObject(mojo, "cacheSpecifications", false);
+            return mojo;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.openapitools.pp;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Synthetic specification with a given number of operations, generated by repeating the path items of a sample
+ * specification with a distinct prefix until the number of operations is reached. The scaling tests and the benchmarks
+ * both generate their specifications this way, thus they measure the same specifications.
+ */
+public final class SyntheticSpecification {
+
+    private static final List<String> VERBS = Arrays.asList("get", "put", "post", "delete", "options", "head", "patch");
+
+    private SyntheticSpecification() {
+        // intentionally empty
+    }
+
+    /**
+     * Generates the specification from a copy of the sample, which is left unchanged.
+     */
+    public static ObjectNode generate(ObjectNode sample, int operations) {
+        ObjectNode specification = sample.deepCopy();
+        ObjectNode paths = specification.objectNode();
+        int remaining = operations;
+        for (int copy = 0; remaining > 0; copy++) {
+            Iterator<Map.Entry<String, JsonNode>> items = sample.get("paths").fields();
+            while (items.hasNext() && remaining > 0) {
+                Map.Entry<String, JsonNode> item = items.next();
+                ObjectNode path = paths.putObject("/copy" + copy + item.getKey());
+                Iterator<Map.Entry<String, JsonNode>> fields = item.getValue().fields();
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    if (!VERBS.contains(field.getKey())) {
+                        path.set(field.getKey(), field.getValue());
+                    } else if (remaining > 0) {
+                        path.set(field.getKey(), copy(field.getValue(), copy));
+                        remaining--;
+                    }
+                }
+            }
+        }
+        specification.set("paths", paths);
+        return specification;
+    }
+
+    private static JsonNode copy(JsonNode operation, int copy) {
+        ObjectNode copied = operation.deepCopy();
+        if (copied.has("operationId")) {
+            copied.put("operationId", copied.get("operationId").asText() + copy);
+        }
+        return copied;
+    }
+}